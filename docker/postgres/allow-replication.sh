@@ -0,0 +1,3 @@
+#!/bin/bash
+# Permite conexoes de replicacao (pg_basebackup / streaming) vindas da rede do compose.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
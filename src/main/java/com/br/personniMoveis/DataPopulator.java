@@ -7,12 +7,15 @@ import com.br.personniMoveis.service.StorePropertiesService;
 import com.br.personniMoveis.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 /**
- * Roda "rotina" para criar dados fake da loja.
+ * Roda "rotina" para criar dados fake da loja. Não roda no perfil production. É idempotente: só cria o que ainda não
+ * existe no BD (configs da loja e usuários pelo e-mail), evitando uploads e hashes de senha a cada boot.
  */
 @Component
+@Profile("!production")
 public class DataPopulator implements CommandLineRunner {
 
     private final UserService userService;
@@ -28,51 +31,60 @@ public class DataPopulator implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
 
-        // Cria configs da loja.
-        StoreProperties storeProp = StoreProperties.builder()
-                .storeId(1L)
-                .storeName("Personni móveis")
-                .storeEmail("personnimoveis@gmail.com")
-                .storePhone("(41) 99999-9999")
-                .primaryCollor("#B68D40")
-                .secondaryCollor("#112620")
-                .siteContext("http://localhost:8080/")
-                .aboutUsInfo("Bem-vindo à Personni móveis, onde a personalização e modelagem de móveis são a essência do nosso trabalho. " +
-                        "Transformamos espaços com soluções sob medida, refletindo o estilo de cada cliente. ")
-                .build();
-        storePropertiesService.updateStore(storeProp);
+        // Cria configs da loja se ainda não existem.
+        if (!storePropertiesService.storeExists()) {
+            createStore();
+        }
 
         // Cria user admin.
-        UserAdminCreateAccountDto admin = UserAdminCreateAccountDto.builder()
+        createUserIfAbsent(UserAdminCreateAccountDto.builder()
                 .name("ADMIN")
                 .email("personnimoveis@gmail.com")
                 .password("123")
                 .cpf("56789389083")
                 .phoneNumber("41922293824")
                 .profile(Profiles.ADMIN)
-                .build();
-        userService.adminCreateAccount(admin);
+                .build());
 
         // Cria user colab.
-        UserAdminCreateAccountDto colaborator = UserAdminCreateAccountDto.builder()
+        createUserIfAbsent(UserAdminCreateAccountDto.builder()
                 .name("Manoel")
                 .email("manoel@personni.com")
                 .password("123")
                 .cpf("67819706074")
                 .phoneNumber("41925611382")
                 .profile(Profiles.COLLABORATOR)
-                .build();
-        userService.adminCreateAccount(colaborator);
+                .build());
 
         // Cria user USER.
-        UserAdminCreateAccountDto normalUser = UserAdminCreateAccountDto.builder()
+        createUserIfAbsent(UserAdminCreateAccountDto.builder()
                 .name("Gabriel Ferraro Severino")
                 .email("gabrielferraro00@gmail.com")
                 .password("123")
                 .cpf("62233746074")
                 .phoneNumber("41922516269")
                 .profile(Profiles.USER)
+                .build());
+    }
+
+    private void createStore() {
+        StoreProperties storeProp = StoreProperties.builder()
+                .storeId(1L)
+                .storeName("Personni móveis")
+                .storeEmail("personnimoveis@gmail.com")
+                .storePhone("(41) 99999-9999")
+                .primaryCollor("#B68D40")
+                .secondaryCollor("#112620")
+                .siteContext("http://localhost:8080/")
+                .aboutUsInfo("Bem-vindo à Personni móveis, onde a personalização e modelagem de móveis são a essência do nosso trabalho. " +
+                        "Transformamos espaços com soluções sob medida, refletindo o estilo de cada cliente. ")
                 .build();
-        userService.adminCreateAccount(normalUser);
+        storePropertiesService.updateStore(storeProp);
+    }
+
+    private void createUserIfAbsent(UserAdminCreateAccountDto user) {
+        if (!userService.existsByEmail(user.getEmail())) {
+            userService.adminCreateAccount(user);
+        }
     }
 }
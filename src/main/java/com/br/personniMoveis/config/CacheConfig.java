@@ -0,0 +1,41 @@
+package com.br.personniMoveis.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache local (Caffeine) dos dados de referência: listas pequenas e raramente alteradas lidas em toda renderização de
+ * página. As entradas são removidas nos caminhos de criação/alteração/exclusão após o commit (cache transacional),
+ * então uma leitura concorrente não recoloca dados antigos. Cada instância tem seu cache; alterações feitas em outra
+ * instância aparecem após o expireAfterWrite da spec.
+ * <p>
+ * Acertos/faltas por cache em /actuator/prometheus (cache_gets_total{cache, result}).
+ */
+@Configuration
+// Antes da transação: um acerto no cache não abre transação nem pega conexão.
+@EnableCaching(order = CacheConfig.CACHE_ADVICE_ORDER)
+public class CacheConfig {
+
+    public static final int CACHE_ADVICE_ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    public static final String TAGS = "tags";
+    public static final String MATERIALS = "materials";
+    public static final String CATEGORIES = "categories";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${personni.reference-cache.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        // Lista fixa de caches: todos existem na inicialização e são registrados nas métricas.
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TAGS, MATERIALS, CATEGORIES);
+        caffeineCacheManager.setCaffeineSpec(CaffeineSpec.parse(spec));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -21,6 +21,10 @@ import java.util.List;
 
 /**
  * Contém a implementação de configurações default para aplicação e requisições.
+ * <p>
+ * Com jackson-dataformat-smile/cbor no classpath, o @EnableWebMvc registra os conversores Smile e CBOR junto do JSON:
+ * clientes que enviam Accept: application/x-jackson-smile (ou application/cbor) recebem o formato binário, os demais
+ * continuam recebendo JSON.
  */
 @Configuration
 @EnableWebMvc
@@ -0,0 +1,15 @@
+package com.br.personniMoveis.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas (@Scheduled) e execução assíncrona (@Async, no executor padrão do Spring Boot).
+ * Obs: no perfil production a inicialização é lazy, beans com @Scheduled devem ser anotados com @Lazy(false).
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
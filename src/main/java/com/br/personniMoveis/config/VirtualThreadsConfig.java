@@ -0,0 +1,47 @@
+package com.br.personniMoveis.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Perfil virtual-threads (SPRING_PROFILES_ACTIVE=...,virtual-threads): requisições do Tomcat, métodos @Async e
+ * tarefas @Scheduled rodam em virtual threads (Java 21). As threads passam a maior parte do tempo bloqueadas em I/O
+ * (Gerencianet, Google Drive, SMTP, PostgreSQL), então não há pool de threads a dimensionar; os recursos externos
+ * continuam limitados pelo pool do Hikari e pelos bulkheads do PSP e do Drive.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    /**
+     * Cada requisição HTTP é atendida por uma nova virtual thread.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Executor dos métodos @Async (substitui o executor padrão do Spring Boot).
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor virtualThreadsTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Tarefas @Scheduled disparadas em virtual threads.
+     */
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadsTaskSchedulerCustomizer() {
+        return scheduler -> scheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-", 0).factory());
+    }
+}
@@ -0,0 +1,89 @@
+package com.br.personniMoveis.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JpaTransactionManager que mede quanto tempo cada transação física mantém a conexão do pool, do begin ao
+ * commit/rollback. Vale para qualquer origem: {@code @Transactional} (no método ou na classe, Spring ou jakarta) e
+ * blocos de {@code TransactionTemplate} (ex: OrderService.makeOrder). Transações que participam de uma externa não são
+ * medidas à parte; REQUIRES_NEW é medida separadamente, pois usa outra conexão.
+ * <p>
+ * Timer {@code personni.db.transactions{method}}; acima de {@code warnMs} o método é logado, apontando quem segura
+ * conexões. Complementa o leak-detection-threshold do Hikari, que loga a pilha de quem obteve uma conexão e não a
+ * devolveu no prazo.
+ */
+public class MeteredJpaTransactionManager extends JpaTransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MeteredJpaTransactionManager.class);
+
+    private static final String APP_PACKAGE = "com.br.personniMoveis.";
+    private static final StackWalker CALLERS = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+    private final long warnNanos;
+
+    public MeteredJpaTransactionManager(MeterRegistry meterRegistry, long warnMs) {
+        this.meterRegistry = meterRegistry;
+        this.warnNanos = warnMs * 1_000_000;
+    }
+
+    @Override
+    protected void prepareSynchronization(DefaultTransactionStatus status, TransactionDefinition definition) {
+        super.prepareSynchronization(status, definition);
+        // Só a transação que abriu a conexão (participantes e savepoints ficam na medição dela).
+        if (status.isNewTransaction() && status.isNewSynchronization()) {
+            TransactionSynchronizationManager.registerSynchronization(new Measurement(transactionName(definition)));
+        }
+    }
+
+    /**
+     * {@code @Transactional}: "Classe.metodo" a partir do nome da transação ("pacote.Classe.metodo"). TransactionTemplate
+     * não tem nome: usa o método da aplicação que chamou execute.
+     */
+    private static String transactionName(TransactionDefinition definition) {
+        String name = definition.getName();
+        if (name != null) {
+            int method = name.lastIndexOf('.');
+            return name.substring(name.lastIndexOf('.', method - 1) + 1);
+        }
+        return CALLERS.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().equals(MeteredJpaTransactionManager.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("desconhecido"));
+    }
+
+    private final class Measurement implements TransactionSynchronization {
+
+        private final String method;
+        private final long start = System.nanoTime();
+
+        private Measurement(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("personni.db.transactions")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > warnNanos) {
+                log.warn("Transação longa: {} manteve a conexão por {} ms.", method, elapsed / 1_000_000);
+            }
+        }
+    }
+}
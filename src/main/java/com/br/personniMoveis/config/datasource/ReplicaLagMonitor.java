@@ -0,0 +1,74 @@
+package com.br.personniMoveis.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Mede periodicamente o atraso de replicação da réplica. Acima de {@code maxLagMs}, ou se a réplica não responde, as
+ * leituras voltam para o primário até a próxima medição em dia.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Atraso em ms: 0 se todo o WAL recebido já foi aplicado (primário ocioso não conta como atraso) ou se o banco não
+     * é uma réplica (ex: segunda instância local sem replicação).
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private volatile boolean replicaAvailable;
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("personni.datasource.replica.lag", this, monitor -> monitor.lagMs)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("personni.datasource.replica.available", this, monitor -> monitor.replicaAvailable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${personni.datasource.replica.lag-check-ms:2000}")
+    public void checkLag() {
+        boolean wasAvailable = replicaAvailable;
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagMs = lag == null ? 0 : lag;
+            replicaAvailable = lagMs <= maxLagMs;
+        } catch (RuntimeException ex) {
+            lagMs = Double.NaN;
+            replicaAvailable = false;
+            if (wasAvailable) {
+                log.warn("Réplica indisponível, leituras redirecionadas ao primário: {}", ex.getMessage());
+            }
+            return;
+        }
+        if (wasAvailable != replicaAvailable) {
+            log.warn(replicaAvailable
+                    ? "Réplica em dia ({} ms), leituras somente leitura voltam para a réplica."
+                    : "Réplica atrasada ({} ms), leituras redirecionadas ao primário.", Math.round(lagMs));
+        }
+    }
+}
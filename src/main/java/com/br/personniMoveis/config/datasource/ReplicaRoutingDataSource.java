@@ -0,0 +1,30 @@
+package com.br.personniMoveis.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe o banco de cada conexão: transações somente leitura ({@code @Transactional(readOnly = true)}) vão para a
+ * réplica enquanto ela estiver em dia (ReplicaLagMonitor); todo o resto vai para o primário. Deve ser envolvido por um
+ * LazyConnectionDataSourceProxy, senão a conexão é obtida no início da transação, antes do flag readOnly existir.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaAvailable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,26 @@
+package com.br.personniMoveis.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Substitui o JpaTransactionManager do Spring Boot pelo {@link MeteredJpaTransactionManager}, aplicando os mesmos
+ * customizers (spring.transaction.*).
+ */
+@Configuration
+public class TransactionManagerConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers, MeterRegistry meterRegistry,
+            @Value("${personni.db.long-transaction-warn-ms:2000}") long warnMs) {
+        MeteredJpaTransactionManager transactionManager = new MeteredJpaTransactionManager(meterRegistry, warnMs);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,28 @@
+package com.br.personniMoveis.config.hibernate;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra funções de busca textual do PostgreSQL para uso em JPQL/Criteria (ver ProductSpecifications).
+ * Registrado via META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ * <ul>
+ *     <li>fts_match(vetor, texto): vetor @@ plainto_tsquery('portuguese', texto) - usa o índice GIN do vetor.</li>
+ *     <li>fts_rank(vetor, texto): relevância (ts_rank) do vetor para o texto.</li>
+ * </ul>
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern("fts_match",
+                "(?1 @@ plainto_tsquery('portuguese', ?2))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern("fts_rank",
+                "ts_rank(?1, plainto_tsquery('portuguese', ?2))",
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.personniMoveis.config.hibernate;
+
+import com.br.personniMoveis.utils.RequestQueryStats;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de sessão do Hibernate que contabiliza statements e tempo de execução JDBC na requisição corrente.
+ * Registrado via propriedade hibernate.session.events.auto (uma instância por sessão).
+ */
+public class QueryCountSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private void record(long start) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.recordStatement(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.personniMoveis.controller;
+
+import com.br.personniMoveis.dto.analytics.SalesDashboardDto;
+import com.br.personniMoveis.service.analytics.SalesDashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controladora dos relatórios de vendas (administração).
+ */
+@RestController
+@RequestMapping("analytics")
+@SecurityRequirement(name = "bearer-key")
+public class AnalyticsController {
+
+    private static final int DEFAULT_PERIOD_DAYS = 30;
+
+    private final SalesDashboardService salesDashboardService;
+
+    @Autowired
+    public AnalyticsController(SalesDashboardService salesDashboardService) {
+        this.salesDashboardService = salesDashboardService;
+    }
+
+    @Operation(summary = "Painel de vendas do período.",
+            description = "Receita diária, produtos e opções do configurador mais vendidos e conversão das cobranças " +
+                    "pix. Padrão: últimos 30 dias (datas ISO, ex: 2024-01-31).")
+    @GetMapping(path = "/dashboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SalesDashboardDto> getDashboard(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "top", required = false, defaultValue = "10") Integer top) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        return ResponseEntity.ok(salesDashboardService.getDashboard(start, end, top));
+    }
+}
@@ -3,9 +3,11 @@ package com.br.personniMoveis.controller;
 import com.br.personniMoveis.dto.CategoryDto.CategoryCmpDto;
 import com.br.personniMoveis.dto.CategoryDto.CategoryGetByIdDto;
 import com.br.personniMoveis.dto.CategoryDto.CategoryGetDto;
+import com.br.personniMoveis.dto.ResourceVersionDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
 import com.br.personniMoveis.model.Category;
 import com.br.personniMoveis.service.CategoryService;
+import com.br.personniMoveis.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
@@ -14,8 +16,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("category")
@@ -32,22 +37,41 @@ public class CategoryController {
 
     @Operation(summary = "Categoria", description = "Adquire a categoria CMP do id informado")
     @GetMapping(path = "/{id}")
-    public ResponseEntity<CategoryGetByIdDto> getCategoryCmpById(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(categoryService.findCategoryCmpByIdOrThrowBadRequestException(id));
+    public ResponseEntity<CategoryGetByIdDto> getCategoryCmpById(@PathVariable("id") Long id, WebRequest request) {
+        // Responde 304 sem montar a árvore de seções/elementos/opções quando o cliente já tem a versão atual.
+        Optional<LocalDateTime> lastModified = categoryService.getCategoryLastModified(id);
+        if (lastModified.isPresent()
+                && HttpCacheUtils.checkNotModified(request, lastModified.get(), "category", id, lastModified.get())) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PUBLIC_CATALOG);
+        }
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PUBLIC_CATALOG)
+                .body(categoryService.findCategoryCmpByIdOrThrowBadRequestException(id));
     }
 
     @Operation(summary = "Adquire produtos na categoria (CMP ou não)", description = "Lista todos os produtos da categoria de id informado")
     @GetMapping(path = "/products-in-category/{categoryId}")
-    public ResponseEntity<List<ProductGetDto>> getAllProductsInCategory(@PathVariable("categoryId") Long categoryId) {
-        return ResponseEntity.ok(categoryService.getAllProductsInCategory(categoryId));
+    public ResponseEntity<List<ProductGetDto>> getAllProductsInCategory(@PathVariable("categoryId") Long categoryId,
+                                                                        WebRequest request) {
+        // Lista: versão é a última alteração mais a quantidade de produtos, por isso somente ETag.
+        ResourceVersionDto version = categoryService.getProductsInCategoryVersion(categoryId);
+        if (request.checkNotModified(HttpCacheUtils.etag(
+                "category-products", categoryId, version.getLastModified(), version.getCount()))) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PUBLIC_CATALOG);
+        }
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PUBLIC_CATALOG)
+                .body(categoryService.getAllProductsInCategory(categoryId));
     }
 
     @Operation(summary = "Busca todas as Categorias", description = "Lista todas as categorias mas sem relacionamento")
     @GetMapping
 	@PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<CategoryGetDto>> getAllCategoria() {
+    public ResponseEntity<List<CategoryGetDto>> getAllCategoria(WebRequest request) {
+        ResourceVersionDto version = categoryService.getCategoriesVersion();
+        if (request.checkNotModified(HttpCacheUtils.etag("categories", version.getLastModified(), version.getCount()))) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PRIVATE_REVALIDATE);
+        }
         List<CategoryGetDto> Category = categoryService.getAllCategories();
-        return ResponseEntity.ok(Category);
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PRIVATE_REVALIDATE).body(Category);
     }
 
     @Operation(summary = "Cria Categoria", description = "Cria categoria com seções, elementos e opções")
@@ -1,5 +1,6 @@
 package com.br.personniMoveis.controller;
 
+import com.br.personniMoveis.dto.product.MaterialDto;
 import com.br.personniMoveis.model.product.Material;
 import com.br.personniMoveis.service.product.MaterialService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -24,7 +25,7 @@ public class MaterialController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Material>> getAllMaterial() {
+    public ResponseEntity<List<MaterialDto>> getAllMaterial() {
         return ResponseEntity.ok(materialService.getAllMaterials());
     }
 
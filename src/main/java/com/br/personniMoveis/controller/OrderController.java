@@ -1,13 +1,16 @@
 package com.br.personniMoveis.controller;
 
 import com.br.personniMoveis.dto.OrderRequest;
-import com.br.personniMoveis.model.user.Order;
-import com.br.personniMoveis.model.user.OrderCmp;
+import com.br.personniMoveis.dto.order.OrderCmpGetDto;
+import com.br.personniMoveis.dto.order.OrderGetDto;
+import com.br.personniMoveis.dto.order.OrderSummaryPageDto;
 import com.br.personniMoveis.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -43,23 +46,61 @@ public class OrderController {
      * Retorna pedidos do produtos e cmps.
      */
     @GetMapping
-    public List<Order> getAllOrders() {
+    public List<OrderGetDto> getAllOrders() {
         return orderService.getAllOrders();
     }
 
     @GetMapping(path = "/cmp")
-    public List<OrderCmp> getAllOrdersCmp() {
+    public List<OrderCmpGetDto> getAllOrdersCmp() {
         return orderService.getAllOrdersCmp();
     }
 
+    /**
+     * Histórico de pedidos do cliente em páginas de resumos (id, data, total, status e qtde de itens), mais recentes
+     * primeiro. Itens de cada pedido em /client-orders/{orderId}.
+     */
     @GetMapping(path = "/client-orders")
-    public ResponseEntity<List<Order>> getAllOrdersFromClientById(@RequestHeader("Authorization") String token) {
-        return ResponseEntity.ok(orderService.getUserOrders(token));
+    public ResponseEntity<OrderSummaryPageDto> getAllOrdersFromClientById(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(orderService.getUserOrders(token, page, size));
+    }
+
+    @GetMapping(path = "/client-orders/{orderId}")
+    public ResponseEntity<OrderGetDto> getOrderFromClient(@RequestHeader("Authorization") String token,
+                                                          @PathVariable("orderId") Long orderId) {
+        return ResponseEntity.ok(orderService.getUserOrder(token, orderId));
     }
 
     @GetMapping(path = "/client-cmp-orders")
-    public ResponseEntity<List<OrderCmp>> getOrdersCmp(@RequestHeader("Authorization") String token) {
-        return ResponseEntity.ok(orderService.getUserCmpOrders(token));
+    public ResponseEntity<OrderSummaryPageDto> getOrdersCmp(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(orderService.getUserCmpOrders(token, page, size));
+    }
+
+    @GetMapping(path = "/client-cmp-orders/{orderCmpId}")
+    public ResponseEntity<OrderCmpGetDto> getOrderCmpFromClient(@RequestHeader("Authorization") String token,
+                                                                @PathVariable("orderCmpId") Long orderCmpId) {
+        return ResponseEntity.ok(orderService.getUserCmpOrder(token, orderCmpId));
+    }
+
+    /**
+     * Stream SSE (evento "status") com as transições de pagamento do pedido (ATIVA -> CONCLUIDA/CANCELADO). O status
+     * atual é enviado ao conectar e o stream é encerrado no status final.
+     */
+    @GetMapping(path = "/{orderId}/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@RequestHeader("Authorization") String token,
+                                        @PathVariable("orderId") Long orderId) {
+        return orderService.streamOrderStatus(token, orderId);
+    }
+
+    @GetMapping(path = "/cmp/{orderCmpId}/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderCmpStatus(@RequestHeader("Authorization") String token,
+                                           @PathVariable("orderCmpId") Long orderCmpId) {
+        return orderService.streamOrderCmpStatus(token, orderCmpId);
     }
 
     @DeleteMapping
@@ -2,19 +2,36 @@ package com.br.personniMoveis.controller;
 
 import com.br.personniMoveis.dto.product.DetailDto;
 import com.br.personniMoveis.dto.product.ProductDto;
+import com.br.personniMoveis.dto.product.ProductImportResultDto;
+import com.br.personniMoveis.dto.product.ProductSearchFilterDto;
+import com.br.personniMoveis.dto.product.ProductSearchResultDto;
+import com.br.personniMoveis.dto.product.ProductTagsBulkDto;
+import com.br.personniMoveis.dto.product.ProductTagsBulkResultDto;
+import com.br.personniMoveis.dto.product.TagDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.dto.product.get.ProductResponseDto;
 import com.br.personniMoveis.model.product.Detail;
 import com.br.personniMoveis.model.product.Product;
-import com.br.personniMoveis.model.product.Tag;
+import com.br.personniMoveis.service.product.ProductImportService;
+import com.br.personniMoveis.service.product.ProductSearchService;
 import com.br.personniMoveis.service.product.ProductService;
+import com.br.personniMoveis.service.product.WaitingListService;
+import com.br.personniMoveis.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controladora do produto editável e produto convencional.
@@ -25,28 +42,63 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductSearchService productSearchService;
+    private final WaitingListService waitingListService;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ProductSearchService productSearchService, WaitingListService waitingListService) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productSearchService = productSearchService;
+        this.waitingListService = waitingListService;
     }
 
+    /**
+     * Busca paginada de produtos vigentes com texto livre, filtros e facetas.
+     *
+     * @param filter Filtros opcionais (q, categoryId, tagIds, materialIds, minPrice, maxPrice, available).
+     * @param page   Página (a partir de 0).
+     * @param size   Itens por página (máximo 100).
+     * @param sort   relevance, price_asc, price_desc ou newest.
+     * @return Página de produtos e contagens por categoria, tag, material, disponibilidade e faixa de preço.
+     */
+    @Operation(summary = "Busca produtos", description = "Busca textual em nome e descrição combinada com filtros " +
+            "de categoria, tags, materiais, preço e disponibilidade. Retorna resultados paginados e facetas.")
+    @GetMapping(path = "/search")
+    public ResponseEntity<ProductSearchResultDto> searchProducts(
+            ProductSearchFilterDto filter,
+            @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(name = "sort", required = false, defaultValue = "relevance") String sort) {
+        return ResponseEntity.ok(productSearchService.search(filter, page, size, sort));
+    }
+
+    /**
+     * Produto completo. Atende If-None-Match/If-Modified-Since com 304 antes de carregar o produto.
+     */
     @GetMapping(path = "/{productId}")
-    public ResponseEntity<Product> getProduct(@PathVariable("productId") Long productId) {
-        return ResponseEntity.ok(productService.findProductOrThrowNotFoundException(productId));
+    public ResponseEntity<ProductResponseDto> getProduct(@PathVariable("productId") Long productId, WebRequest request) {
+        Optional<LocalDateTime> lastModified = productService.getProductLastModified(productId);
+        if (lastModified.isPresent()
+                && HttpCacheUtils.checkNotModified(request, lastModified.get(), "product", productId, lastModified.get())) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PUBLIC_CATALOG);
+        }
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PUBLIC_CATALOG).body(productService.getProduct(productId));
     }
 
     @Operation(summary = "Retorna lista de produtos mais recentes.", description = "Adquire os produtos mais recentemente" +
             " inclusos na loja. Se parâmetro opcional de qtde não for passado, retorna os últimos 4 produtos.")
     @GetMapping(path = "/most-recent")
-    public ResponseEntity<List<Product>> getMostRecentProducts(@RequestParam(
+    public ResponseEntity<List<ProductGetDto>> getMostRecentProducts(@RequestParam(
             name = "amountOfProducts", required = false, defaultValue = "4") Integer amountOfProducts) {
         return ResponseEntity.ok(productService.getMostRecentProducts(amountOfProducts));
     }
 
     @Operation(summary = "Retorna lista de todos os produtos.")
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<ProductResponseDto>> getAllProducts() {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
@@ -56,6 +108,21 @@ public class ProductController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @Operation(summary = "Associa tags a produtos em lote.",
+            description = "Associa todas as tags informadas a todos os produtos informados. Associações já existentes " +
+                    "são mantidas; retorna a quantidade criada.")
+    @PostMapping("tags/bulk-assign")
+    public ResponseEntity<ProductTagsBulkResultDto> assignTagsToProducts(@RequestBody ProductTagsBulkDto bulkDto) {
+        return ResponseEntity.ok(productService.assignTagsToProducts(bulkDto));
+    }
+
+    @Operation(summary = "Remove tags de produtos em lote.",
+            description = "Remove as tags informadas dos produtos informados; retorna a quantidade removida.")
+    @PostMapping("tags/bulk-remove")
+    public ResponseEntity<ProductTagsBulkResultDto> removeTagsFromProducts(@RequestBody ProductTagsBulkDto bulkDto) {
+        return ResponseEntity.ok(productService.removeTagsFromProducts(bulkDto));
+    }
+
     /**
      * Cria e associa detail à um produto. Ao criar um detail, deve se associar à um produto existente.
      *
@@ -101,8 +168,16 @@ public class ProductController {
 
     @Operation(summary = "Retorna todas as tags que o produto possui.", description = "Retorna produtos que possuem a tag de id informado.")
     @GetMapping("/{productId}/tags")
-    public ResponseEntity<List<Tag>> getAllTagsInProductById(@PathVariable("productId") Long productId) {
-        return ResponseEntity.ok(productService.getAllTagsFromProduct(productId));
+    public ResponseEntity<List<TagDto>> getAllTagsInProductById(@PathVariable("productId") Long productId,
+                                                                WebRequest request) {
+        // Alterações de tags avançam a versão do produto.
+        Optional<LocalDateTime> lastModified = productService.getProductLastModified(productId);
+        if (lastModified.isPresent()
+                && HttpCacheUtils.checkNotModified(request, lastModified.get(), "product-tags", productId, lastModified.get())) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PUBLIC_CATALOG);
+        }
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PUBLIC_CATALOG)
+                .body(productService.getAllTagsFromProduct(productId));
     }
 
     /**
@@ -112,7 +187,7 @@ public class ProductController {
      * @return Produto simples sem dados adicionais persistido.
      */
     @PostMapping
-    public ResponseEntity<Product> createProduct(@RequestBody @Valid ProductDto productDto) {
+    public ResponseEntity<ProductResponseDto> createProduct(@RequestBody @Valid ProductDto productDto) {
         return ResponseEntity.ok(productService.createProduct(productDto));
     }
 
@@ -126,14 +201,29 @@ public class ProductController {
     @Operation(summary = "Cria/edita produto convencional", description = "Endpoint que recebe todo payload para " +
             "criação ou edição do produto convencional como req param e seus subitens. Recebe um id para setar a categoria do produto.")
     @PostMapping(path = "/save-full-product")
-    public ResponseEntity<Product> saveFullProduct(
+    public ResponseEntity<ProductResponseDto> saveFullProduct(
             @RequestParam(name = "categoryId") Long categoryId,
             @RequestBody @Valid Product product) {
         return ResponseEntity.ok(productService.createFullProduct(product, categoryId));
     }
 
+    /**
+     * Importa produtos em lote a partir de JSON Lines (um produto por linha, no mesmo formato de /save-full-product,
+     * com categoryId preenchido). Imagens devem ser URLs; linhas inválidas são rejeitadas e reportadas no resultado.
+     *
+     * @param input corpo da requisição lido em streaming.
+     * @return Quantidade de produtos importados, rejeitados (por linha) e não gravados (por lote).
+     */
+    @Operation(summary = "Importa produtos em lote", description = "Recebe JSON Lines com um produto completo por " +
+            "linha e persiste em lotes.")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ProductImportResultDto> importProducts(InputStream input) throws IOException {
+        return ResponseEntity.ok(productImportService.importJsonLines(input));
+    }
+
     @PutMapping(path = "/save-full-product")
-    public ResponseEntity<Product> editFullProduct(
+    public ResponseEntity<ProductResponseDto> editFullProduct(
             @RequestParam(name = "categoryId") Long categoryId,
             @RequestBody @Valid Product product) {
         return ResponseEntity.ok(productService.updateProduct(product, categoryId));
@@ -162,6 +252,23 @@ public class ProductController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @Operation(summary = "Entra na lista de espera do produto.",
+            description = "Cliente é avisado por e-mail quando o produto voltar ao estoque.")
+    @PostMapping(path = "/{productId}/waiting-list")
+    public ResponseEntity<HttpStatus> joinWaitingList(@RequestHeader("Authorization") String token,
+                                                      @PathVariable("productId") Long productId) {
+        waitingListService.subscribe(token, productId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Operation(summary = "Sai da lista de espera do produto.")
+    @DeleteMapping(path = "/{productId}/waiting-list")
+    public ResponseEntity<HttpStatus> leaveWaitingList(@RequestHeader("Authorization") String token,
+                                                       @PathVariable("productId") Long productId) {
+        waitingListService.unsubscribe(token, productId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(summary = "Notifica clientes da volta do produto à loja.",
             description = "Envia e-mail para todos clientes que tem o produto na lista de espera.")
     @PostMapping(path = "/notify-clients-email/{productId}/{productUrl}")
@@ -2,6 +2,7 @@ package com.br.personniMoveis.controller;
 
 import com.br.personniMoveis.model.StoreProperties;
 import com.br.personniMoveis.service.StorePropertiesService;
+import com.br.personniMoveis.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Controladora da loja. Define configurações do site como estilo e propriedades gerais.
@@ -26,8 +31,13 @@ public class StorePropertiesController {
     }
 
     @GetMapping
-    public ResponseEntity<StoreProperties> getStoreProperties() {
-        return ResponseEntity.ok(storePropertiesService.getStore());
+    public ResponseEntity<StoreProperties> getStoreProperties(WebRequest request) {
+        Optional<LocalDateTime> lastModified = storePropertiesService.getStoreLastModified();
+        if (lastModified.isPresent()
+                && HttpCacheUtils.checkNotModified(request, lastModified.get(), "store", lastModified.get())) {
+            return HttpCacheUtils.notModified(HttpCacheUtils.PUBLIC_CATALOG);
+        }
+        return ResponseEntity.ok().cacheControl(HttpCacheUtils.PUBLIC_CATALOG).body(storePropertiesService.getStore());
     }
 
     @PutMapping("update-store")
@@ -1,5 +1,6 @@
 package com.br.personniMoveis.controller;
 
+import com.br.personniMoveis.dto.product.TagDto;
 import com.br.personniMoveis.model.product.Tag;
 import com.br.personniMoveis.service.product.TagService;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -24,17 +25,17 @@ public class TagController {
     }
 
     @GetMapping(path = "/{tagId}")
-    public ResponseEntity<Tag> getTagById(@PathVariable("tagId") Long tagId) {
-        return ResponseEntity.ok(tagService.findTagOrThrowNotFoundException(tagId));
+    public ResponseEntity<TagDto> getTagById(@PathVariable("tagId") Long tagId) {
+        return ResponseEntity.ok(tagService.getTag(tagId));
     }
 
     @GetMapping
-    public ResponseEntity<List<Tag>> getAllTags() {
+    public ResponseEntity<List<TagDto>> getAllTags() {
         return ResponseEntity.ok(tagService.getAllTags());
     }
 
     @PostMapping
-    public ResponseEntity<Tag> createTag(@RequestBody Tag tag) {
+    public ResponseEntity<TagDto> createTag(@RequestBody Tag tag) {
         return ResponseEntity.ok(tagService.createTag(tag));
     }
 
@@ -1,5 +1,6 @@
 package com.br.personniMoveis.controller;
 
+import com.br.personniMoveis.dto.AddressGetDto;
 import com.br.personniMoveis.dto.MessageRequestDto;
 import com.br.personniMoveis.dto.NewPassDto;
 import com.br.personniMoveis.dto.User.UserAdminCreateAccountDto;
@@ -82,8 +83,8 @@ public class UserController {
     @GetMapping(path = "/get-user-address/{addressId}")
     @SecurityRequirement(name = "bearer-key")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ClientAddress> getSingleAddress(@RequestHeader("Authorization") String token, @PathVariable Long addressId) {
-        ClientAddress clientAddress = userService.getSingleAddress(token, addressId);
+    public ResponseEntity<AddressGetDto> getSingleAddress(@RequestHeader("Authorization") String token, @PathVariable Long addressId) {
+        AddressGetDto clientAddress = userService.getSingleAddress(token, addressId);
         return ResponseEntity.ok(clientAddress);
     }
 
@@ -122,14 +123,14 @@ public class UserController {
     @PostMapping(path = "/create-new-address")
     @SecurityRequirement(name = "bearer-key")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ClientAddress> createNewAddress(@RequestHeader("Authorization") String token, @RequestBody @Valid ClientAddress address) {
+    public ResponseEntity<AddressGetDto> createNewAddress(@RequestHeader("Authorization") String token, @RequestBody @Valid ClientAddress address) {
         return ResponseEntity.ok(userService.createAddress(token, address));
     }
 
     @GetMapping(path = "/get-user-address")
     @SecurityRequirement(name = "bearer-key")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<ClientAddress>> getClientAddresses(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<AddressGetDto>> getClientAddresses(@RequestHeader("Authorization") String token) {
         return ResponseEntity.ok(userService.getAllUserAddresses(token));
     }
 
@@ -174,7 +175,7 @@ public class UserController {
     @DeleteMapping(path = "/delete-user-address/{addressId}")
     @SecurityRequirement(name = "bearer-key")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ClientAddress> deleteUserAddress(@RequestHeader("Authorization") String token, @PathVariable Long addressId) {
+    public ResponseEntity<HttpStatus> deleteUserAddress(@RequestHeader("Authorization") String token, @PathVariable Long addressId) {
         userService.deleteUserAddress(token, addressId);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,22 @@
+package com.br.personniMoveis.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dto de leitura do endereço do cliente.
+ */
+@Data
+@NoArgsConstructor
+public class AddressGetDto {
+
+    private Long addressId;
+    private String addressNickname;
+    private String cep;
+    private String state;
+    private String city;
+    private String district;
+    private String street;
+    private String number;
+    private String details;
+}
@@ -0,0 +1,20 @@
+package com.br.personniMoveis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão de um recurso de lista: última alteração entre os itens e quantidade de itens (a quantidade muda quando um
+ * item sai da lista sem que a última alteração avance).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceVersionDto {
+
+    private LocalDateTime lastModified;
+    private Long count;
+}
@@ -0,0 +1,26 @@
+package com.br.personniMoveis.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Vendas de um dia: pedidos de produtos, pedidos cmp e cobranças pix finalizadas/pagas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySalesDto {
+
+    private LocalDate day;
+    private Long orders;
+    private Long units;
+    private Double revenue;
+    private Long cmpOrders;
+    private Long cmpUnits;
+    private Double cmpRevenue;
+    private Long pixCharges;
+    private Long pixPaid;
+}
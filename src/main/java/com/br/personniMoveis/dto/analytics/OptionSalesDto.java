@@ -0,0 +1,18 @@
+package com.br.personniMoveis.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Opção do configurador e quantas vezes foi escolhida no período.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OptionSalesDto {
+
+    private String optionGroup;
+    private String optionName;
+    private Long selections;
+}
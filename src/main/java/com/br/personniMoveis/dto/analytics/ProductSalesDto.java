@@ -0,0 +1,22 @@
+package com.br.personniMoveis.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unidades vendidas e receita de um produto no período.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSalesDto {
+
+    private Long productId;
+    /**
+     * Nome atual do produto (null se o produto foi removido).
+     */
+    private String productName;
+    private Long units;
+    private Double revenue;
+}
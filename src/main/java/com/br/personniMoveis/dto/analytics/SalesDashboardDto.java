@@ -0,0 +1,35 @@
+package com.br.personniMoveis.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Painel de vendas do período [from, to]: totais, série diária, produtos e opções mais vendidos e conversão das
+ * cobranças pix (pagas / finalizadas).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesDashboardDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Double revenue;
+    private Long orders;
+    private Long units;
+    private Long pixCharges;
+    private Long pixPaid;
+    /**
+     * Fração das cobranças finalizadas que foram pagas (null se nenhuma no período).
+     */
+    private Double pixConversion;
+    private List<DailySalesDto> daily;
+    private List<ProductSalesDto> topProducts;
+    private List<OptionSalesDto> topOptions;
+}
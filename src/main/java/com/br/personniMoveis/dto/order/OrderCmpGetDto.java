@@ -0,0 +1,25 @@
+package com.br.personniMoveis.dto.order;
+
+import com.br.personniMoveis.dto.User.UserGetDto;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dto de leitura do pedido de produtos cmp com seus itens.
+ */
+@Data
+@NoArgsConstructor
+public class OrderCmpGetDto {
+
+    private Long orderCmpId;
+    private String deliveryAddress;
+    private Double totalPrice;
+    private LocalDateTime date;
+    private UserGetDto user;
+    private String status;
+    private String txid;
+    private List<OrderItemCmpGetDto> orderCmpItems;
+}
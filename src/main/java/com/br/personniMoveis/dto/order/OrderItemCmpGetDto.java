@@ -0,0 +1,23 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Item do pedido cmp com o snapshot do cmp gravado no checkout (sem consultar o configurador).
+ */
+@Data
+@NoArgsConstructor
+public class OrderItemCmpGetDto {
+
+    private Long orderItemCmpId;
+    private Long selectedAmountOfCmps;
+    private Double subtotal;
+    private Long productCmpId;
+    private String cmpDescription;
+    private Double unitPrice;
+    private String cmpImg;
+    private List<OrderOptionSnapshotDto> selectedOptions;
+}
@@ -0,0 +1,23 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Item do pedido com o snapshot do produto gravado no checkout (sem consultar o catálogo).
+ */
+@Data
+@NoArgsConstructor
+public class OrderItemGetDto {
+
+    private Long orderItemId;
+    private Long selectedAmountOfProducts;
+    private Double subtotal;
+    private Long productId;
+    private String productName;
+    private Double unitPrice;
+    private String productImg;
+    private List<OrderOptionSnapshotDto> selectedOptions;
+}
@@ -0,0 +1,16 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Opção cobrada no item do pedido (valores do momento da compra).
+ */
+@Data
+@NoArgsConstructor
+public class OrderOptionSnapshotDto {
+
+    private String group;
+    private String name;
+    private Double price;
+}
@@ -0,0 +1,17 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status de pagamento do pedido enviado pelo stream SSE.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusDto {
+
+    private Long orderId;
+    private String status;
+}
@@ -0,0 +1,23 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do histórico de pedidos do cliente (pedido ou pedido cmp), sem itens. Os itens são obtidos pelo detalhe do
+ * pedido.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummaryDto {
+
+    private Long orderId;
+    private LocalDateTime date;
+    private Double totalPrice;
+    private String status;
+    private Long itemCount;
+}
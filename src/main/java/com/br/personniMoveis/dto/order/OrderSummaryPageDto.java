@@ -0,0 +1,22 @@
+package com.br.personniMoveis.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de pedidos do cliente, mais recentes primeiro. Sem contagem total: hasNext indica se há
+ * próxima página.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummaryPageDto {
+
+    private List<OrderSummaryDto> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
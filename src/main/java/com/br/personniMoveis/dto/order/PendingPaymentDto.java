@@ -0,0 +1,18 @@
+package com.br.personniMoveis.dto.order;
+
+/**
+ * Pedido (ou pedido cmp) reivindicado pela conciliação de pagamentos.
+ */
+public interface PendingPaymentDto {
+
+    Long getId();
+
+    String getTxid();
+
+    String getStatus();
+
+    /**
+     * Indica se o pedido foi criado há mais tempo que o limite para pagamento (cobrança ATIVA vira CANCELADO).
+     */
+    Boolean getExpired();
+}
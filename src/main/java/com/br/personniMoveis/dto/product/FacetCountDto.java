@@ -0,0 +1,16 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Contagem de produtos encontrados para um valor de faceta (categoria, tag ou material).
+ */
+@Data
+@AllArgsConstructor
+public class FacetCountDto {
+
+    private Long id;
+    private String name;
+    private Long count;
+}
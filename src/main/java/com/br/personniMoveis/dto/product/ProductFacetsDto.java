@@ -0,0 +1,22 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Facetas da busca de produtos, calculadas no banco sobre o mesmo conjunto filtrado da busca.
+ */
+@Data
+@NoArgsConstructor
+public class ProductFacetsDto {
+
+    private List<FacetCountDto> categories;
+    private List<FacetCountDto> tags;
+    private List<FacetCountDto> materials;
+    private Long available;
+    private Long unavailable;
+    private Double minPrice;
+    private Double maxPrice;
+}
@@ -0,0 +1,24 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da importação em lote do catálogo: produtos importados (gravados), rejeitados na validação (errors, por
+ * linha) e não gravados por falha do BD no lote (batchErrors, por faixa de linhas), com os primeiros erros.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResultDto {
+
+    private long imported;
+    private long rejected;
+    private long failed;
+    private List<String> errors = new ArrayList<>();
+    private List<String> batchErrors = new ArrayList<>();
+}
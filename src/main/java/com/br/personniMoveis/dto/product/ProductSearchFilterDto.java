@@ -0,0 +1,26 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filtros da busca de produtos (/products/search). Todos opcionais; filtros informados são combinados com AND,
+ * listas de tags/materiais com OR entre seus itens.
+ */
+@Data
+@NoArgsConstructor
+public class ProductSearchFilterDto {
+
+    /**
+     * Texto livre buscado no nome e descrição do produto.
+     */
+    private String q;
+    private Long categoryId;
+    private List<Long> tagIds;
+    private List<Long> materialIds;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean available;
+}
@@ -0,0 +1,24 @@
+package com.br.personniMoveis.dto.product;
+
+import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados da busca de produtos com as facetas do conjunto filtrado.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResultDto {
+
+    private List<ProductGetDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private ProductFacetsDto facets;
+}
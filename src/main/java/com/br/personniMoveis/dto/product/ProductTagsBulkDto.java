@@ -0,0 +1,19 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Associação em lote: todas as tags de {@code tagIds} em todos os produtos de {@code productIds}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductTagsBulkDto {
+
+    private List<Long> productIds;
+    private List<Long> tagIds;
+}
@@ -0,0 +1,16 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado da associação/remoção de tags em lote: associações produto-tag efetivamente criadas ou removidas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductTagsBulkResultDto {
+
+    private int changed;
+}
@@ -0,0 +1,18 @@
+package com.br.personniMoveis.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cliente da lista de espera de um produto (somente o necessário para notificá-lo).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitingClientDto {
+
+    private Long userId;
+    private String email;
+    private String name;
+}
@@ -0,0 +1,13 @@
+package com.br.personniMoveis.dto.product.get;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class DetailGetDto {
+
+    private Long detailId;
+    private String detailField;
+    private String fieldContent;
+}
@@ -0,0 +1,14 @@
+package com.br.personniMoveis.dto.product.get;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MaterialGetDto {
+
+    private Long materialId;
+    private String materialName;
+    private Double price;
+    private String imgUrl;
+}
@@ -0,0 +1,15 @@
+package com.br.personniMoveis.dto.product.get;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class OptionGetDto {
+
+    private Long optionId;
+    private String name;
+    private String mainImg;
+    private String description;
+    private Double price;
+}
@@ -0,0 +1,12 @@
+package com.br.personniMoveis.dto.product.get;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ProductImgGetDto {
+
+    private Long productImgId;
+    private String img;
+}
@@ -0,0 +1,38 @@
+package com.br.personniMoveis.dto.product.get;
+
+import com.br.personniMoveis.dto.CategoryDto.CategoryGetDto;
+import com.br.personniMoveis.dto.product.TagDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Dto de leitura do produto completo (com seus subitens). Mantém os nomes de campos do json da entidade Product.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductResponseDto {
+
+    private Long productId;
+    private String name;
+    private Double value;
+    private Long quantity;
+    private Boolean editable;
+    private String mainImg;
+    private String description;
+    private LocalDateTime dtCreated;
+    private LocalDateTime dtUpdated;
+    private Boolean available;
+    private Boolean isRemoved;
+    private Long categoryId;
+    private Set<ProductImgGetDto> secondaryImages;
+    private Set<DetailGetDto> details;
+    private Set<MaterialGetDto> materials;
+    private Set<SectionGetDto> sections;
+    private Set<TagDto> tags;
+    private CategoryGetDto category;
+}
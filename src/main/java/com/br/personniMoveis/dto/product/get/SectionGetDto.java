@@ -0,0 +1,15 @@
+package com.br.personniMoveis.dto.product.get;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class SectionGetDto {
+
+    private Long sectionId;
+    private String name;
+    private Set<OptionGetDto> options;
+}
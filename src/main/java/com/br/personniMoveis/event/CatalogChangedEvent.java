@@ -0,0 +1,34 @@
+package com.br.personniMoveis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Evento publicado quando produtos ou tags do catálogo são criados, alterados ou removidos.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    /**
+     * Tag afetada pela alteração (null quando a alteração não é específica de uma tag).
+     */
+    private Long tagId;
+
+    /**
+     * Indica se a tag foi removida (entrada da tag deve sair do cache).
+     */
+    private boolean tagRemoved;
+
+    public static CatalogChangedEvent products() {
+        return new CatalogChangedEvent(null, false);
+    }
+
+    public static CatalogChangedEvent tag(Long tagId) {
+        return new CatalogChangedEvent(tagId, false);
+    }
+
+    public static CatalogChangedEvent tagRemoved(Long tagId) {
+        return new CatalogChangedEvent(tagId, true);
+    }
+}
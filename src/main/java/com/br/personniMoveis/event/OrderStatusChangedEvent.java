@@ -0,0 +1,29 @@
+package com.br.personniMoveis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Evento publicado quando o status de pagamento de um pedido muda (ex: ATIVA -> CONCLUIDA/CANCELADO).
+ */
+@Data
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+
+    private Long orderId;
+
+    /**
+     * Indica se o id é de um pedido cmp (OrderCmp) ou de um pedido de produtos (Order).
+     */
+    private boolean cmp;
+
+    private String status;
+
+    public static OrderStatusChangedEvent order(Long orderId, String status) {
+        return new OrderStatusChangedEvent(orderId, false, status);
+    }
+
+    public static OrderStatusChangedEvent orderCmp(Long orderCmpId, String status) {
+        return new OrderStatusChangedEvent(orderCmpId, true, status);
+    }
+}
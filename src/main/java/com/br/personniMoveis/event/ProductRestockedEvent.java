@@ -0,0 +1,14 @@
+package com.br.personniMoveis.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Evento publicado quando um produto volta a ficar disponível (available false -> true).
+ */
+@Data
+@AllArgsConstructor
+public class ProductRestockedEvent {
+
+    private Long productId;
+}
@@ -0,0 +1,15 @@
+package com.br.personniMoveis.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Dependência externa (PSP, Google Drive) indisponível ou saturada: a requisição falha rápido em vez de aguardar.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.br.personniMoveis.mapper.Order;
+
+import com.br.personniMoveis.dto.order.OrderCmpGetDto;
+import com.br.personniMoveis.dto.order.OrderGetDto;
+import com.br.personniMoveis.model.user.Order;
+import com.br.personniMoveis.model.user.OrderCmp;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+/**
+ * Mapeamento dos pedidos para dtos de leitura. Percorre os itens do pedido (com o snapshot dos produtos), deve ser
+ * chamado dentro da transação.
+ */
+@Mapper(componentModel = "spring")
+public abstract class OrderMapper {
+
+    public static final OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
+
+    public abstract OrderGetDto orderToOrderGetDto(Order order);
+
+    public abstract List<OrderGetDto> ordersToOrderGetDtos(List<Order> orders);
+
+    public abstract OrderCmpGetDto orderCmpToOrderCmpGetDto(OrderCmp orderCmp);
+
+    public abstract List<OrderCmpGetDto> orderCmpsToOrderCmpGetDtos(List<OrderCmp> orderCmps);
+}
@@ -1,8 +1,10 @@
 package com.br.personniMoveis.mapper.User;
 
+import com.br.personniMoveis.dto.AddressGetDto;
 import com.br.personniMoveis.dto.User.UserCreateAccountDto;
 import com.br.personniMoveis.dto.User.UserGetDto;
 import com.br.personniMoveis.dto.UserUpdateInfoDto;
+import com.br.personniMoveis.model.user.ClientAddress;
 import com.br.personniMoveis.model.user.UserEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -20,4 +22,6 @@ public abstract class UserEntityMapper {
 
     public abstract UserEntity userGetInfoDtoToUser(UserUpdateInfoDto userGetInfoDto);
 
+    public abstract AddressGetDto clientAddressToAddressGetDto(ClientAddress clientAddress);
+
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.br.personniMoveis.mapper.product;
 import com.br.personniMoveis.dto.product.ProductDto;
 import com.br.personniMoveis.dto.product.ProductPutDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.dto.product.get.ProductResponseDto;
 import com.br.personniMoveis.model.product.Product;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.util.List;
+
 /**
  * Mapeamento para dtos de Product.
  */
@@ -20,4 +23,11 @@ public abstract class ProductMapper {
     public abstract Product productPutDtoToProduct(ProductPutDto productDto);
 
     public abstract ProductGetDto productToProductGetDto(Product product);
+
+    /**
+     * Dto de leitura do produto completo. Percorre as coleções do produto, deve ser chamado dentro da transação.
+     */
+    public abstract ProductResponseDto productToProductResponseDto(Product product);
+
+    public abstract List<ProductResponseDto> productsToProductResponseDtos(List<Product> products);
 }
@@ -11,6 +11,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Set;
 
@@ -42,6 +43,14 @@ public class Category {
     @Column
     private Boolean isRemoved;
 
+    /**
+     * Última alteração da categoria ou do seu configurador (seções, elementos e opções). Versão usada nos headers
+     * ETag/Last-Modified das leituras da categoria.
+     */
+    @JsonIgnore
+    @Column(name = "dt_updated")
+    private LocalDateTime dtUpdated;
+
     @JsonIgnore
     @OneToMany
     @JoinColumn(name = "id")
@@ -51,6 +60,12 @@ public class Category {
     @JoinColumn(name = "id")
     private Set<SectionCmp> sectionCmp;
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        dtUpdated = LocalDateTime.now();
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(id);
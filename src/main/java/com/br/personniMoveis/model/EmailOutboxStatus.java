@@ -0,0 +1,16 @@
+package com.br.personniMoveis.model;
+
+/**
+ * Situação de um e-mail no outbox.
+ */
+public enum EmailOutboxStatus {
+    /**
+     * Aguardando envio (ou novo envio após falha, a partir de nextAttemptAt).
+     */
+    PENDING,
+    SENT,
+    /**
+     * Esgotou as tentativas de envio (dead letter), mantido para análise.
+     */
+    DEAD
+}
@@ -1,11 +1,14 @@
 package com.br.personniMoveis.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapeamento ORM para propriedades da loja do e-commerce.
  */
@@ -57,6 +60,13 @@ public class StoreProperties {
     @Column(name = "site_context")
     private String siteContext;
 
+    /**
+     * Última alteração das configurações, usada nos headers ETag/Last-Modified de GET /store.
+     */
+    @JsonIgnore
+    @Column(name = "dt_updated")
+    private LocalDateTime dtUpdated;
+
     public StoreProperties(StoreProperties sp) {
         this.storeId = sp.getStoreId();
         this.storeName = sp.getStoreName();
@@ -72,4 +82,10 @@ public class StoreProperties {
         this.addressMeta = sp.getAddressMeta();
         this.siteContext =  sp.getSiteContext();
     }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        dtUpdated = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,59 @@
+package com.br.personniMoveis.model.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Totais de vendas de um dia (data do pedido), somados por SalesAggregationService quando os pedidos são finalizados.
+ * Apenas leitura pela aplicação: as linhas são gravadas por upserts nativos (SalesDailyRepository).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sales_daily")
+public class SalesDaily {
+
+    @Id
+    private LocalDate day;
+
+    /**
+     * Pedidos de produtos pagos, unidades vendidas e receita.
+     */
+    @Column(nullable = false)
+    private Long orders;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private Double revenue;
+
+    /**
+     * Pedidos de cmps pagos, unidades vendidas e receita.
+     */
+    @Column(name = "cmp_orders", nullable = false)
+    private Long cmpOrders;
+
+    @Column(name = "cmp_units", nullable = false)
+    private Long cmpUnits;
+
+    @Column(name = "cmp_revenue", nullable = false)
+    private Double cmpRevenue;
+
+    /**
+     * Cobranças pix finalizadas (pagas ou canceladas) e pagas, dos pedidos criados no dia.
+     */
+    @Column(name = "pix_charges", nullable = false)
+    private Long pixCharges;
+
+    @Column(name = "pix_paid", nullable = false)
+    private Long pixPaid;
+}
@@ -0,0 +1,26 @@
+package com.br.personniMoveis.model.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vezes que uma opção do configurador foi escolhida em um dia (pedidos cmp pagos, ponderado pela quantidade).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sales_option_daily")
+public class SalesOptionDaily {
+
+    @EmbeddedId
+    private SalesOptionDailyId id;
+
+    @Column(nullable = false)
+    private Long selections;
+}
@@ -0,0 +1,29 @@
+package com.br.personniMoveis.model.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Opção identificada pelo snapshot gravado no item (grupo e nome), não pelo id: a opção pode ter sido removida do
+ * catálogo depois da venda.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class SalesOptionDailyId implements Serializable {
+
+    private LocalDate day;
+
+    @Column(name = "option_group")
+    private String optionGroup;
+
+    @Column(name = "option_name")
+    private String optionName;
+}
@@ -0,0 +1,29 @@
+package com.br.personniMoveis.model.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unidades vendidas e receita de um produto em um dia (pedidos pagos).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sales_product_daily")
+public class SalesProductDaily {
+
+    @EmbeddedId
+    private SalesProductDailyId id;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
@@ -0,0 +1,22 @@
+package com.br.personniMoveis.model.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class SalesProductDailyId implements Serializable {
+
+    private LocalDate day;
+
+    @Column(name = "product_id")
+    private Long productId;
+}
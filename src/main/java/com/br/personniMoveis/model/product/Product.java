@@ -2,7 +2,6 @@ package com.br.personniMoveis.model.product;
 
 import com.br.personniMoveis.model.Category;
 import com.br.personniMoveis.model.user.OrderItem;
-import com.br.personniMoveis.model.user.UserEntity;
 import com.br.personniMoveis.utils.CustomProductImgDeserializer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -54,6 +53,10 @@ public class Product {
     @Column(name = "dt_created")
     private LocalDateTime dtCreated;
 
+    /**
+     * Última alteração do produto (inclusive estoque, tags, detalhes, categoria e materiais). Junto de dtCreated, é a
+     * versão usada nos headers ETag/Last-Modified das leituras do produto.
+     */
     @Column(name = "dt_updated")
     private LocalDateTime dtUpdated;
 
@@ -118,19 +121,15 @@ public class Product {
     @JoinColumn(name = "id")
     private Category category;
 
-    /**
-     * Mantém controle da lista de espera do usuário (produtos que notificam usuário via e-mail
-     * ao retornar à disponibilidade).
-     */
     @JsonIgnore
-    @ManyToMany(mappedBy = "productWaitingList")
-    private final List<UserEntity> users = new ArrayList<>();
-
-    @JsonIgnore
-    @ManyToMany
-    @JoinTable(name = "product_order_item", joinColumns = @JoinColumn(name = "product_id"), inverseJoinColumns = @JoinColumn(name = "order_item_id"))
+    @ManyToMany(mappedBy = "products")
     private final List<OrderItem> orderItems = new ArrayList<>();
 
+    @PreUpdate
+    void touch() {
+        dtUpdated = LocalDateTime.now();
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(productId);
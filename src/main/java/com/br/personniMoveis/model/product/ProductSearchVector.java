@@ -0,0 +1,28 @@
+package com.br.personniMoveis.model.product;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Vetor de busca textual do produto (nome e descrição), gerado pelo banco na própria tabela product. Mapeado à parte,
+ * somente leitura, para ser referenciado apenas nas consultas de busca (ProductSpecifications.matchesText): carregar
+ * um Product não traz o vetor.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "product")
+public class ProductSearchVector {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "search_vector", insertable = false, updatable = false,
+            columnDefinition = "tsvector generated always as (setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') || " +
+                    "setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')) stored")
+    private String searchVector;
+}
@@ -0,0 +1,26 @@
+package com.br.personniMoveis.model.product;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cliente aguardando o retorno de um produto indisponível. A entrada é removida quando o cliente é notificado
+ * (WaitingListService).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "product_waiting_list")
+public class WaitingListEntry {
+
+    @EmbeddedId
+    private WaitingListEntryId id;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.br.personniMoveis.model.product;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Chave da lista de espera: produto primeiro, para que a busca dos clientes de um produto use a PK.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class WaitingListEntryId implements Serializable {
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "user_id")
+    private Long userId;
+}
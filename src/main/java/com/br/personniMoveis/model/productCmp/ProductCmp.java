@@ -37,13 +37,28 @@ public class ProductCmp {
 
     private String description;
 
+    /**
+     * Chave canônica da configuração: sha-256 das triplas (seção, elemento, opção) ordenadas. Configurações idênticas
+     * reutilizam o mesmo cmp (ver ProductCmpService.createProductCmp).
+     */
+    @JsonIgnore
+    @Column(name = "config_hash", length = 64, unique = true)
+    private String configHash;
+
+    /**
+     * Opções escolhidas na configuração (uma por elemento).
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "product_cmp_option", joinColumns = @JoinColumn(name = "product_cmp_id"))
+    private final List<ProductCmpSelection> selections = new ArrayList<>();
+
     @ManyToMany
     @JoinTable(name = "product_cmp_section", joinColumns = @JoinColumn(name = "product_cmp_id"), inverseJoinColumns = @JoinColumn(name = "section_cmp_id"))
     private Set<SectionCmp> sectionCmps = new HashSet<>();
 
     @JsonIgnore
-    @ManyToMany
-    @JoinTable(name = "cmp_order_item", joinColumns = @JoinColumn(name = "product_cmp_id"), inverseJoinColumns = @JoinColumn(name = "order_item_cmp_id"))
+    @ManyToMany(mappedBy = "productCmps")
     private final List<OrderItemCmp> orderCmps = new ArrayList<>();
 
     @Override
@@ -0,0 +1,32 @@
+package com.br.personniMoveis.model.productCmp;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Opção escolhida em um elemento de uma seção do cmp (tripla seção, elemento, opção da configuração). Seção e
+ * elemento ficam sem FK para não impedir sua remoção do configurador; a opção é removida da configuração junto com
+ * a opção (ver OptionCmpService.deleteOptionCmpById).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class ProductCmpSelection {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_cmp_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private SectionCmp sectionCmp;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "element_cmp_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private ElementCmp elementCmp;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_cmp_id")
+    private OptionCmp optionCmp;
+}
@@ -1,5 +1,6 @@
 package com.br.personniMoveis.model.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +21,8 @@ import java.util.Objects;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long orderId;
 
@@ -39,8 +41,24 @@ public class Order {
 
     private String txid;
 
-    @OneToMany
-    @JoinColumn(name = "order_id")
+    /**
+     * Até quando o pedido está reservado pela conciliação de pagamentos de uma instância (PaymentReconciliationService).
+     */
+    @JsonIgnore
+    @Column(name = "payment_lease_until")
+    private LocalDateTime paymentLeaseUntil;
+
+    /**
+     * Status já somado aos agregados de vendas (SalesAggregationService); null se o pedido ainda não foi contabilizado.
+     */
+    @JsonIgnore
+    @Column(name = "analytics_status", length = 20)
+    private String analyticsStatus;
+
+    /**
+     * Itens são persistidos junto com o pedido (cascade), em um único batch de inserts.
+     */
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
     private final List<OrderItem> orderItems = new ArrayList<>();
 
     @Override
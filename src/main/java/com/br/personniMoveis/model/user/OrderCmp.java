@@ -1,5 +1,6 @@
 package com.br.personniMoveis.model.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -22,7 +23,8 @@ import java.util.Objects;
 public class OrderCmp {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_cmp_seq")
+    @SequenceGenerator(name = "order_cmp_seq", sequenceName = "order_cmp_seq", allocationSize = 50)
     @Column(name = "order_cmp_id")
     private Long orderCmpId;
 
@@ -43,8 +45,24 @@ public class OrderCmp {
 
     private String txid;
 
-    @OneToMany
-    @JoinColumn(name = "order_cmp_id")
+    /**
+     * Até quando o pedido está reservado pela conciliação de pagamentos de uma instância (PaymentReconciliationService).
+     */
+    @JsonIgnore
+    @Column(name = "payment_lease_until")
+    private LocalDateTime paymentLeaseUntil;
+
+    /**
+     * Status já somado aos agregados de vendas (SalesAggregationService); null se o pedido ainda não foi contabilizado.
+     */
+    @JsonIgnore
+    @Column(name = "analytics_status", length = 20)
+    private String analyticsStatus;
+
+    /**
+     * Itens são persistidos junto com o pedido (cascade), em um único batch de inserts.
+     */
+    @OneToMany(mappedBy = "orderCmp", cascade = CascadeType.PERSIST)
     private final List<OrderItemCmp> orderCmpItems = new ArrayList<>();
 
     @Override
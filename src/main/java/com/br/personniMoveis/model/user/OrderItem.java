@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +23,8 @@ import java.util.Objects;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long orderItemId;
 
@@ -34,9 +37,34 @@ public class OrderItem {
     private Double subtotal;
 
     /**
-     * Ordem de pedido dos produtos.
+     * Snapshot do produto no momento da compra (gravado uma vez no checkout): exibição do pedido não depende do
+     * produto atual, que pode ter mudado de nome, preço ou imagem.
      */
-    @ManyToMany(mappedBy = "orderItems")
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName;
+
+    /**
+     * Valor do produto mais opções cobrado por unidade.
+     */
+    @Column(name = "unit_price")
+    private Double unitPrice;
+
+    @Column(name = "product_img", length = 1000)
+    private String productImg;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "selected_options", columnDefinition = "jsonb")
+    private List<OrderOptionSnapshot> selectedOptions;
+
+    /**
+     * Ordem de pedido dos produtos. O item é o lado dono da relação para que as linhas de product_order_item sejam
+     * inseridas com o item, sem carregar o histórico de pedidos do produto.
+     */
+    @ManyToMany
+    @JoinTable(name = "product_order_item", joinColumns = @JoinColumn(name = "order_item_id"), inverseJoinColumns = @JoinColumn(name = "product_id"))
     private final List<Product> products = new ArrayList<>();
 
     @JsonIgnore
@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +23,8 @@ import java.util.Objects;
 public class OrderItemCmp {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_cmp_seq")
+    @SequenceGenerator(name = "order_item_cmp_seq", sequenceName = "order_item_cmp_seq", allocationSize = 50)
     @Column(name = "order_item_cmp_id")
     private Long orderItemCmpId;
 
@@ -34,9 +37,33 @@ public class OrderItemCmp {
     private Double subtotal;
 
     /**
-     * Ordem de pedido dos cmps.
+     * Snapshot do cmp no momento da compra (gravado uma vez no checkout): exibição do pedido não depende da árvore
+     * de seções/elementos/opções atual.
      */
-    @ManyToMany(mappedBy = "orderCmps")
+    @Column(name = "product_cmp_id")
+    private Long productCmpId;
+
+    @Column(name = "cmp_description")
+    private String cmpDescription;
+
+    /**
+     * Valor das opções cobrado por unidade.
+     */
+    @Column(name = "unit_price")
+    private Double unitPrice;
+
+    @Column(name = "cmp_img", length = 1000)
+    private String cmpImg;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "selected_options", columnDefinition = "jsonb")
+    private List<OrderOptionSnapshot> selectedOptions;
+
+    /**
+     * Ordem de pedido dos cmps. O item é o lado dono da relação (linhas de cmp_order_item inseridas com o item).
+     */
+    @ManyToMany
+    @JoinTable(name = "cmp_order_item", joinColumns = @JoinColumn(name = "order_item_cmp_id"), inverseJoinColumns = @JoinColumn(name = "product_cmp_id"))
     private final List<ProductCmp> productCmps = new ArrayList<>();
 
     @JsonIgnore
@@ -0,0 +1,21 @@
+package com.br.personniMoveis.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Opção do produto (ou do cmp) cobrada no item do pedido, copiada no checkout. Gravada em json no próprio item.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderOptionSnapshot {
+
+    /**
+     * Seção (e elemento, no cmp) da opção, ex: "Tampo / Madeira".
+     */
+    private String group;
+    private String name;
+    private Double price;
+}
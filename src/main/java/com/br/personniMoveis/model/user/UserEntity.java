@@ -4,7 +4,6 @@ import com.br.personniMoveis.enums.Profiles;
 import com.br.personniMoveis.dto.User.UserAdminCreateAccountDto;
 import com.br.personniMoveis.dto.User.UserCreateAccountDto;
 import com.br.personniMoveis.dto.UserAdminInfo;
-import com.br.personniMoveis.model.product.Product;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
@@ -65,15 +64,6 @@ public class UserEntity implements UserDetails {
     @JoinColumn(name = "user_id")
     private final List<ClientAddress> addresses = new ArrayList<>();
 
-    /**
-     * Lista de espera por produtos que não estão disponíveis. Serve como controle para notificar clientes quando se
-     * tornarem disponíveis.
-     */
-    @JsonIgnore
-    @ManyToMany
-    @JoinTable(name = "user_waiting_product", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "product_id"))
-    private List<Product> productWaitingList;
-
     /**
      * Pedidos do cliente.
      */
@@ -4,7 +4,13 @@ import com.br.personniMoveis.model.user.ClientAddress;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AddressRepository extends JpaRepository<ClientAddress, Long> {
 
+    List<ClientAddress> findByClientAddressUserId(Long userId);
+
+    Optional<ClientAddress> findByAddressIdAndClientAddressUserId(Long addressId, Long userId);
 }
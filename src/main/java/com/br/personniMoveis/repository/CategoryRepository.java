@@ -1,14 +1,20 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.ResourceVersionDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
 import com.br.personniMoveis.model.Category;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 
@@ -26,4 +32,57 @@ public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSp
      * Encontra as categorias vigentes (não removidas lógicamente).
      */
     List<Category> findByIsRemovedFalse();
+
+    /**
+     * Ids de todas as categorias (inclusive removidas logicamente), para checar existência sem carregar entidades.
+     */
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
+
+    /**
+     * Versão da categoria e do seu configurador sem carregar a árvore de seções/elementos/opções.
+     */
+    @Query("SELECT c.dtUpdated FROM Category c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long categoryId);
+
+    /**
+     * Versão da lista de categorias vigentes (exclusão é lógica, então remoções também avançam a data).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.ResourceVersionDto(MAX(c.dtUpdated), COUNT(c)) " +
+            "FROM Category c WHERE c.isRemoved = FALSE")
+    ResourceVersionDto findCategoriesVersion();
+
+    /**
+     * Versão da lista de produtos vigentes da categoria.
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.ResourceVersionDto(MAX(COALESCE(p.dtUpdated, p.dtCreated)), COUNT(p)) " +
+            "FROM Product p WHERE p.category.id = :id AND p.isRemoved = FALSE")
+    ResourceVersionDto findProductsInCategoryVersion(@Param("id") Long categoryId);
+
+    /**
+     * Avança a versão da categoria dona da seção (alterações no configurador mudam a leitura da categoria).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Category c SET c.dtUpdated = :now WHERE c.id IN (" +
+            "SELECT s.category.id FROM SectionCmp s WHERE s.id = :sectionCmpId)")
+    int touchBySectionCmp(@Param("sectionCmpId") Long sectionCmpId, @Param("now") LocalDateTime now);
+
+    /**
+     * Avança a versão da categoria dona do elemento.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Category c SET c.dtUpdated = :now WHERE c.id IN (" +
+            "SELECT e.sectionCmp.category.id FROM ElementCmp e WHERE e.id = :elementCmpId)")
+    int touchByElementCmp(@Param("elementCmpId") Long elementCmpId, @Param("now") LocalDateTime now);
+
+    /**
+     * Avança a versão da categoria dona da opção.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Category c SET c.dtUpdated = :now WHERE c.id IN (" +
+            "SELECT o.elementCmp.sectionCmp.category.id FROM OptionCmp o WHERE o.id = :optionCmpId)")
+    int touchByOptionCmp(@Param("optionCmpId") Long optionCmpId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,51 @@
+package com.br.personniMoveis.repository;
+
+import com.br.personniMoveis.model.EmailOutbox;
+import com.br.personniMoveis.model.EmailOutboxStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Trava um lote de e-mails pendentes prontos para envio. SKIP LOCKED permite que várias instâncias drenem o outbox
+     * em paralelo sem pegar as mesmas linhas. Deve ser chamado dentro de transação, junto de {@link #lease}.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> claimPending(LocalDateTime now, int batchSize);
+
+    /**
+     * Adia a próxima tentativa dos e-mails reivindicados até o fim do lease (enquanto são enviados).
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(List<Long> ids, LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.br.personniMoveis.model.EmailOutboxStatus.SENT, " +
+            "e.attempts = e.attempts + 1, e.sentAt = :sentAt, e.lastError = NULL WHERE e.id = :id")
+    int markSent(Long id, LocalDateTime sentAt);
+
+    /**
+     * Registra falha de envio: volta a PENDING com nova data de tentativa ou vai para DEAD.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = e.attempts + 1, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int markFailed(Long id, EmailOutboxStatus status, LocalDateTime nextAttemptAt, String lastError);
+}
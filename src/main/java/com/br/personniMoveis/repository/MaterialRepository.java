@@ -1,10 +1,19 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.product.MaterialDto;
 import com.br.personniMoveis.model.product.Material;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
-    
+
+    /**
+     * Retorna todos os materiais já como dto de leitura.
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.product.MaterialDto(m.materialId, m.materialName, m.imgUrl, m.price) FROM Material m")
+    List<MaterialDto> findAllMaterials();
 }
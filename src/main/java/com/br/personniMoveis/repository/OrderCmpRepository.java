@@ -1,9 +1,154 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.order.OrderStatusDto;
+import com.br.personniMoveis.dto.order.OrderSummaryDto;
+import com.br.personniMoveis.dto.order.PendingPaymentDto;
 import com.br.personniMoveis.model.user.OrderCmp;
+import com.br.personniMoveis.model.user.UserEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderCmpRepository extends JpaRepository<OrderCmp, Long> {
+
+    /**
+     * Página do histórico de pedidos cmp do usuário, mais recentes primeiro, com a quantidade de itens de cada
+     * um (sem carregar itens). Usa o índice (user_id, date desc).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.order.OrderSummaryDto(o.orderCmpId, o.date, o.totalPrice, o.status, " +
+            "(SELECT COUNT(i) FROM OrderItemCmp i WHERE i.orderCmp = o)) " +
+            "FROM OrderCmp o WHERE o.user.userId = :userId ORDER BY o.date DESC, o.orderCmpId DESC")
+    Slice<OrderSummaryDto> findSummariesByUserId(Long userId, Pageable pageable);
+
+    Optional<OrderCmp> findByOrderCmpIdAndUserUserId(Long orderCmpId, Long userId);
+
+    boolean existsByOrderCmpIdAndUserUserId(Long orderCmpId, Long userId);
+
+    /**
+     * Status de pagamento do pedido cmp sem carregá-lo.
+     */
+    @Query("SELECT o.status FROM OrderCmp o WHERE o.orderCmpId = :orderCmpId")
+    String findStatusById(Long orderCmpId);
+
+    /**
+     * Status de pagamento dos pedidos cmp informados (releitura dos streams SSE abertos).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.order.OrderStatusDto(o.orderCmpId, o.status) FROM OrderCmp o WHERE o.orderCmpId IN :ids")
+    List<OrderStatusDto> findStatusesByIds(Collection<Long> ids);
+
+    /**
+     * Cliente do pedido cmp (destinatário dos e-mails de status).
+     */
+    @Query("SELECT o.user FROM OrderCmp o WHERE o.orderCmpId = :orderCmpId")
+    Optional<UserEntity> findUserById(Long orderCmpId);
+
+    /**
+     * Vincula a cobrança pix e o endereço de entrega ao pedido cmp sem carregá-lo, somente se ele ainda não foi
+     * cancelado.
+     *
+     * @return 1 se vinculou, 0 se o pedido cmp já foi cancelado (ver {@link #cancelWithoutCharge}).
+     */
+    @Modifying
+    @Query("UPDATE OrderCmp o SET o.txid = :txid, o.deliveryAddress = :deliveryAddress " +
+            "WHERE o.orderCmpId = :orderCmpId AND o.status IS NULL")
+    int updatePayment(Long orderCmpId, String txid, String deliveryAddress);
+
+    /**
+     * Cancela o pedido cmp somente se ainda não tem cobrança pix vinculada nem status.
+     *
+     * @return 1 se cancelou, 0 caso contrário.
+     */
+    @Modifying
+    @Query("UPDATE OrderCmp o SET o.status = 'CANCELADO' " +
+            "WHERE o.orderCmpId = :orderCmpId AND o.txid IS NULL AND o.status IS NULL")
+    int cancelWithoutCharge(Long orderCmpId);
+
+    /**
+     * Mesmo que {@link OrderRepository#claimWithoutCharge} para pedidos cmp.
+     */
+    @Query(value = """
+            SELECT order_cmp_id FROM order_cmp_table
+            WHERE txid IS NULL AND status IS NULL AND date < :createdBefore
+            ORDER BY order_cmp_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimWithoutCharge(LocalDateTime createdBefore, int batchSize);
+
+    /**
+     * Trava um lote de pedido cmps com pagamento a conciliar e lease vencido. SKIP LOCKED divide os pedido cmps entre as
+     * instâncias; deve ser chamado dentro de transação, junto de {@link #leasePaymentCheck}.
+     *
+     * @param cancelBefore  pedido cmps criados antes dessa data estão fora do prazo de pagamento (expired).
+     * @param chargeExpiredBefore cancelados antes dessa data já tiveram a cobrança pix expirada e não são mais consultados.
+     */
+    @Query(value = """
+            SELECT order_cmp_id AS id, txid, status, date < :cancelBefore AS expired FROM order_cmp_table
+            WHERE txid IS NOT NULL
+              AND (status IS NULL OR status = 'ATIVA' OR (status = 'CANCELADO' AND date >= :chargeExpiredBefore))
+              AND (payment_lease_until IS NULL OR payment_lease_until <= :now)
+            ORDER BY payment_lease_until NULLS FIRST, order_cmp_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PendingPaymentDto> claimPendingPayments(LocalDateTime now, LocalDateTime cancelBefore,
+                                                 LocalDateTime chargeExpiredBefore, int batchSize);
+
+    /**
+     * Reserva os pedido cmps para a instância corrente até {@code leaseUntil}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderCmp o SET o.paymentLeaseUntil = :leaseUntil WHERE o.orderCmpId IN :ids")
+    int leasePaymentCheck(List<Long> ids, LocalDateTime leaseUntil);
+
+    /**
+     * Atualiza o status somente se ainda é o status lido na conciliação (null é tratado como '').
+     *
+     * @return 1 se atualizou, 0 se o status foi alterado por outra instância.
+     */
+    @Modifying
+    @Query("UPDATE OrderCmp o SET o.status = :status WHERE o.orderCmpId = :orderCmpId AND COALESCE(o.status, '') = :expectedStatus")
+    int compareAndSetStatus(Long orderCmpId, String expectedStatus, String status);
+
+    /**
+     * Trava um lote de pedidos finalizados ainda não somados aos agregados de vendas (job de delta). SKIP LOCKED
+     * divide os pedidos entre as instâncias; deve ser chamado dentro de transação, junto de
+     * {@link #markAnalyticsRecorded}.
+     */
+    @Query(value = """
+            SELECT order_cmp_id FROM order_cmp_table
+            WHERE status IN ('CONCLUIDA', 'CANCELADO')
+              AND (analytics_status IS NULL OR (analytics_status = 'CANCELADO' AND status = 'CONCLUIDA'))
+            ORDER BY order_cmp_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimAnalyticsPending(int batchSize);
+
+    /**
+     * Mesmo que {@link #claimAnalyticsPending} para um único pedido (logo após a mudança de status).
+     */
+    @Query(value = """
+            SELECT order_cmp_id FROM order_cmp_table
+            WHERE order_cmp_id = :orderCmpId
+              AND status IN ('CONCLUIDA', 'CANCELADO')
+              AND (analytics_status IS NULL OR (analytics_status = 'CANCELADO' AND status = 'CONCLUIDA'))
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimAnalyticsPendingById(Long orderCmpId);
+
+    @Modifying
+    @Query("UPDATE OrderCmp o SET o.analyticsStatus = o.status WHERE o.orderCmpId IN :ids")
+    int markAnalyticsRecorded(List<Long> ids);
 }
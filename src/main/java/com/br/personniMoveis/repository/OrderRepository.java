@@ -1,10 +1,182 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.order.OrderStatusDto;
+import com.br.personniMoveis.dto.order.OrderSummaryDto;
+import com.br.personniMoveis.dto.order.PendingPaymentDto;
 import com.br.personniMoveis.model.user.Order;
+import com.br.personniMoveis.model.user.UserEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Página do histórico de pedidos do usuário, mais recentes primeiro, com a quantidade de itens de cada
+     * um (sem carregar itens). Usa o índice (user_id, date desc).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.order.OrderSummaryDto(o.orderId, o.date, o.totalPrice, o.status, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o)) " +
+            "FROM Order o WHERE o.user.userId = :userId ORDER BY o.date DESC, o.orderId DESC")
+    Slice<OrderSummaryDto> findSummariesByUserId(Long userId, Pageable pageable);
+
+    Optional<Order> findByOrderIdAndUserUserId(Long orderId, Long userId);
+
+    boolean existsByOrderIdAndUserUserId(Long orderId, Long userId);
+
+    /**
+     * Status de pagamento do pedido sem carregá-lo.
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.orderId = :orderId")
+    String findStatusById(Long orderId);
+
+    /**
+     * Status de pagamento dos pedidos informados (releitura dos streams SSE abertos).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.order.OrderStatusDto(o.orderId, o.status) FROM Order o WHERE o.orderId IN :ids")
+    List<OrderStatusDto> findStatusesByIds(Collection<Long> ids);
+
+    /**
+     * Cliente do pedido (destinatário dos e-mails de status).
+     */
+    @Query("SELECT o.user FROM Order o WHERE o.orderId = :orderId")
+    Optional<UserEntity> findUserById(Long orderId);
+
+    /**
+     * Vincula a cobrança pix e o endereço de entrega ao pedido sem carregá-lo, somente se ele ainda não foi cancelado.
+     *
+     * @return 1 se vinculou, 0 se o pedido já foi cancelado (ver {@link #cancelWithoutCharge}).
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.txid = :txid, o.deliveryAddress = :deliveryAddress " +
+            "WHERE o.orderId = :orderId AND o.status IS NULL")
+    int updatePayment(Long orderId, String txid, String deliveryAddress);
+
+    /**
+     * Cancela o pedido somente se ainda não tem cobrança pix vinculada nem status.
+     *
+     * @return 1 se cancelou, 0 caso contrário.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = 'CANCELADO' WHERE o.orderId = :orderId AND o.txid IS NULL AND o.status IS NULL")
+    int cancelWithoutCharge(Long orderId);
+
+    /**
+     * Trava os produtos do pedido (em ordem de id) e retorna os esgotados (indisponíveis e com estoque zerado): os que
+     * voltam a ficar disponíveis em {@link #restoreStock}. Deve ser chamado na mesma transação, antes dele.
+     */
+    @Query(value = """
+            SELECT product_id FROM (
+                SELECT p.product_id, p.available, p.quantity FROM product p
+                WHERE p.product_id IN (SELECT product_id FROM order_item WHERE order_id = :orderId)
+                ORDER BY p.product_id
+                FOR UPDATE) locked
+            WHERE NOT available AND quantity = 0
+            """, nativeQuery = true)
+    List<Long> lockSoldOutProducts(Long orderId);
+
+    /**
+     * Devolve ao estoque as unidades dos itens do pedido (produto volta a ficar disponível se tinha zerado).
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE product p SET quantity = p.quantity + i.units, available = (p.available OR p.quantity = 0),
+                                 dt_updated = now()
+            FROM (SELECT product_id, SUM(selected_amount_of_products) AS units FROM order_item
+                  WHERE order_id = :orderId AND product_id IS NOT NULL
+                  GROUP BY product_id) i
+            WHERE p.product_id = i.product_id
+            """, nativeQuery = true)
+    int restoreStock(Long orderId);
+
+    /**
+     * Trava um lote de pedidos criados antes de {@code createdBefore} que nunca tiveram cobrança pix vinculada
+     * (falha entre a gravação do pedido e a cobrança). SKIP LOCKED divide os pedidos entre as instâncias; deve ser
+     * chamado dentro de transação, junto de {@link #cancelWithoutCharge}.
+     */
+    @Query(value = """
+            SELECT order_id FROM order_table
+            WHERE txid IS NULL AND status IS NULL AND date < :createdBefore
+            ORDER BY order_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimWithoutCharge(LocalDateTime createdBefore, int batchSize);
+
+    /**
+     * Trava um lote de pedidos com pagamento a conciliar e lease vencido. SKIP LOCKED divide os pedidos entre as
+     * instâncias; deve ser chamado dentro de transação, junto de {@link #leasePaymentCheck}.
+     *
+     * @param cancelBefore  pedidos criados antes dessa data estão fora do prazo de pagamento (expired).
+     * @param chargeExpiredBefore cancelados antes dessa data já tiveram a cobrança pix expirada e não são mais consultados.
+     */
+    @Query(value = """
+            SELECT order_id AS id, txid, status, date < :cancelBefore AS expired FROM order_table
+            WHERE txid IS NOT NULL
+              AND (status IS NULL OR status = 'ATIVA' OR (status = 'CANCELADO' AND date >= :chargeExpiredBefore))
+              AND (payment_lease_until IS NULL OR payment_lease_until <= :now)
+            ORDER BY payment_lease_until NULLS FIRST, order_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PendingPaymentDto> claimPendingPayments(LocalDateTime now, LocalDateTime cancelBefore,
+                                                 LocalDateTime chargeExpiredBefore, int batchSize);
+
+    /**
+     * Reserva os pedidos para a instância corrente até {@code leaseUntil}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.paymentLeaseUntil = :leaseUntil WHERE o.orderId IN :ids")
+    int leasePaymentCheck(List<Long> ids, LocalDateTime leaseUntil);
+
+    /**
+     * Atualiza o status somente se ainda é o status lido na conciliação (null é tratado como '').
+     *
+     * @return 1 se atualizou, 0 se o status foi alterado por outra instância.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status WHERE o.orderId = :orderId AND COALESCE(o.status, '') = :expectedStatus")
+    int compareAndSetStatus(Long orderId, String expectedStatus, String status);
+
+    /**
+     * Trava um lote de pedidos finalizados ainda não somados aos agregados de vendas (job de delta). SKIP LOCKED
+     * divide os pedidos entre as instâncias; deve ser chamado dentro de transação, junto de
+     * {@link #markAnalyticsRecorded}.
+     */
+    @Query(value = """
+            SELECT order_id FROM order_table
+            WHERE status IN ('CONCLUIDA', 'CANCELADO')
+              AND (analytics_status IS NULL OR (analytics_status = 'CANCELADO' AND status = 'CONCLUIDA'))
+            ORDER BY order_id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimAnalyticsPending(int batchSize);
+
+    /**
+     * Mesmo que {@link #claimAnalyticsPending} para um único pedido (logo após a mudança de status).
+     */
+    @Query(value = """
+            SELECT order_id FROM order_table
+            WHERE order_id = :orderId
+              AND status IN ('CONCLUIDA', 'CANCELADO')
+              AND (analytics_status IS NULL OR (analytics_status = 'CANCELADO' AND status = 'CONCLUIDA'))
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimAnalyticsPendingById(Long orderId);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.analyticsStatus = o.status WHERE o.orderId IN :ids")
+    int markAnalyticsRecorded(List<Long> ids);
 }
@@ -1,11 +1,54 @@
 package com.br.personniMoveis.repository;
 
 import com.br.personniMoveis.model.productCmp.ProductCmp;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ProductCmpRepository extends JpaRepository<ProductCmp, Long>, JpaSpecificationExecutor<ProductCmp> {
 
+    Optional<ProductCmp> findByConfigHash(String configHash);
+
+    /**
+     * Lock de transação (advisory) pela chave da configuração: criações simultâneas da mesma configuração são
+     * serializadas e a segunda reutiliza o cmp gravado pela primeira.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    Integer lockConfiguration(long key);
+
+    /**
+     * Recalcula o valor unitário em cache das configurações que usam a opção (após mudança de preço).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE product_cmp c SET value_total = (
+                SELECT COALESCE(SUM(o.price), 0) FROM product_cmp_option pco
+                JOIN option_cmp o ON o.option_cmp_id = pco.option_cmp_id
+                WHERE pco.product_cmp_id = c.product_cmp_id)
+            WHERE c.product_cmp_id IN (SELECT product_cmp_id FROM product_cmp_option WHERE option_cmp_id = :optionCmpId)
+            """, nativeQuery = true)
+    int refreshCachedPrices(Long optionCmpId);
+
+    /**
+     * Configurações com a opção deixam de ser reutilizáveis (chave removida) e perdem a opção, antes de removê-la.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE product_cmp SET config_hash = NULL
+            WHERE product_cmp_id IN (SELECT product_cmp_id FROM product_cmp_option WHERE option_cmp_id = :optionCmpId)
+            """, nativeQuery = true)
+    int retireConfigurationsWithOption(Long optionCmpId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM product_cmp_option WHERE option_cmp_id = :optionCmpId", nativeQuery = true)
+    int deleteSelectionsWithOption(Long optionCmpId);
 }
@@ -1,14 +1,19 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.product.TagDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
 import com.br.personniMoveis.model.product.Product;
-import com.br.personniMoveis.model.product.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
@@ -32,8 +37,9 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      * @param productId Id do produto que se deseja adquirir as tags.
      * @return Todas as tags no produto indicado por id.
      */
-    @Query("SELECT t FROM Tag t LEFT JOIN t.products p WHERE p.productId = :productId")
-    List<Tag> findTagsFromProduct(Long productId);
+    @Query("SELECT new com.br.personniMoveis.dto.product.TagDto(t.tagId, t.tagName) " +
+            "FROM Product p JOIN p.tags t WHERE p.productId = :productId")
+    List<TagDto> findTagsFromProduct(Long productId);
 
     /**
      * Retorna os produtos mais recentemente inseridos. Se o endpoint no receber um valor de
@@ -48,7 +54,90 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     List<Product> getMostRecentProducts(Integer amountOfProducts);
 
     /**
-     * Encontra produtos vigentes (no excluidos logicamente do BD).
+     * Projecao dos produtos vigentes mais recentes (feed da vitrine, ver ProductFeedCache).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.product.get.ProductGetDto(" +
+            "p.productId, p.name, p.value, p.quantity, p.editable, p.mainImg, p.description) " +
+            "FROM Product p " +
+            "WHERE p.isRemoved = false " +
+            "ORDER BY p.dtCreated DESC LIMIT :amountOfProducts")
+    List<ProductGetDto> findMostRecentProductGetDtos(Integer amountOfProducts);
+
+    /**
+     * Encontra produtos vigentes (não excluidos logicamente do BD).
      */
     List<Product> findByIsRemovedFalse();
+
+    /**
+     * Versão do produto (última alteração ou, se nunca alterado, criação) sem carregar a entidade. Base do
+     * ETag/Last-Modified das leituras do produto.
+     */
+    @Query("SELECT COALESCE(p.dtUpdated, p.dtCreated) FROM Product p WHERE p.productId = :productId")
+    Optional<LocalDateTime> findLastModifiedById(Long productId);
+
+    /**
+     * Avança a versão dos produtos que possuem a tag (renomeação da tag altera as leituras desses produtos).
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.dtUpdated = :now WHERE p.productId IN (" +
+            "SELECT tp.productId FROM Tag t JOIN t.products tp WHERE t.tagId = :tagId)")
+    int touchProductsWithTag(Long tagId, LocalDateTime now);
+
+    /**
+     * Avança a versão dos produtos que possuem o material (nome, preço e imagem do material aparecem nas leituras
+     * desses produtos).
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.dtUpdated = :now WHERE p.productId IN (" +
+            "SELECT mp.productId FROM Material m JOIN m.products mp WHERE m.materialId = :materialId)")
+    int touchProductsWithMaterial(Long materialId, LocalDateTime now);
+
+    /**
+     * Avança a versão dos produtos da categoria (a categoria aparece nas leituras desses produtos). Transacional por
+     * conta própria: a atualização da categoria com o configurador não roda em uma única transação (uploads no Drive).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.dtUpdated = :now WHERE p.category.id = :categoryId")
+    int touchProductsInCategory(Long categoryId, LocalDateTime now);
+
+    /**
+     * Associa todas as tags a todos os produtos informados em um único INSERT, sem carregar as coleções de produtos e
+     * tags. Ids inexistentes são ignorados e associações já existentes são mantidas.
+     *
+     * @return quantidade de associações criadas.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO product_tag (product_id, tag_id)
+            SELECT p.product_id, t.tag_id FROM product p CROSS JOIN tag t
+            WHERE p.product_id IN (:productIds) AND t.tag_id IN (:tagIds)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int addTags(Collection<Long> productIds, Collection<Long> tagIds);
+
+    /**
+     * Remove as tags informadas dos produtos informados em um único DELETE.
+     *
+     * @return quantidade de associações removidas.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM product_tag WHERE product_id IN (:productIds) AND tag_id IN (:tagIds)", nativeQuery = true)
+    int removeTags(Collection<Long> productIds, Collection<Long> tagIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM product_tag WHERE product_id = :productId", nativeQuery = true)
+    int removeAllTags(Long productId);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM product_tag WHERE product_id = :productId AND tag_id = :tagId", nativeQuery = true)
+    boolean hasTag(Long productId, Long tagId);
+
+    long countByProductIdIn(Collection<Long> productIds);
+
+    /**
+     * Avança a versão dos produtos informados.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.dtUpdated = :now WHERE p.productId IN :productIds")
+    int touchProducts(Collection<Long> productIds, LocalDateTime now);
 }
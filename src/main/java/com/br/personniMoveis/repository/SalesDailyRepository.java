@@ -0,0 +1,75 @@
+package com.br.personniMoveis.repository;
+
+import com.br.personniMoveis.dto.analytics.DailySalesDto;
+import com.br.personniMoveis.model.analytics.SalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, LocalDate> {
+
+    @Query("SELECT new com.br.personniMoveis.dto.analytics.DailySalesDto(s.day, s.orders, s.units, s.revenue, " +
+            "s.cmpOrders, s.cmpUnits, s.cmpRevenue, s.pixCharges, s.pixPaid) " +
+            "FROM SalesDaily s WHERE s.day BETWEEN :from AND :to ORDER BY s.day")
+    List<DailySalesDto> findDaily(LocalDate from, LocalDate to);
+
+    /**
+     * Soma os pedidos de produtos informados aos totais dos seus dias. Os pedidos devem estar reivindicados
+     * (OrderRepository#claimAnalyticsPending) e ainda não marcados: analytics_status null = cobrança ainda não contada.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily AS s (day, orders, units, revenue, cmp_orders, cmp_units, cmp_revenue, pix_charges, pix_paid)
+            SELECT CAST(o.date AS date),
+                   COUNT(*) FILTER (WHERE o.status = 'CONCLUIDA'),
+                   COALESCE(SUM(i.units) FILTER (WHERE o.status = 'CONCLUIDA'), 0),
+                   COALESCE(SUM(o.total_price) FILTER (WHERE o.status = 'CONCLUIDA'), 0),
+                   0, 0, 0,
+                   COUNT(*) FILTER (WHERE o.analytics_status IS NULL AND o.txid IS NOT NULL),
+                   COUNT(*) FILTER (WHERE o.status = 'CONCLUIDA' AND o.txid IS NOT NULL)
+            FROM order_table o
+            LEFT JOIN LATERAL (SELECT SUM(selected_amount_of_products) AS units FROM order_item
+                               WHERE order_id = o.order_id) i ON true
+            WHERE o.order_id IN (:ids)
+            GROUP BY CAST(o.date AS date)
+            ON CONFLICT (day) DO UPDATE SET
+                orders = s.orders + EXCLUDED.orders, units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue, cmp_orders = s.cmp_orders + EXCLUDED.cmp_orders,
+                cmp_units = s.cmp_units + EXCLUDED.cmp_units, cmp_revenue = s.cmp_revenue + EXCLUDED.cmp_revenue,
+                pix_charges = s.pix_charges + EXCLUDED.pix_charges, pix_paid = s.pix_paid + EXCLUDED.pix_paid
+            """, nativeQuery = true)
+    int addOrders(List<Long> ids);
+
+    /**
+     * Mesmo que {@link #addOrders} para pedidos cmp. Carrinho com produtos e cmps gera um pedido de cada com a mesma
+     * cobrança pix: ela é contada somente pelo pedido de produtos, então aqui entram só as cobranças exclusivas de cmps.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily AS s (day, orders, units, revenue, cmp_orders, cmp_units, cmp_revenue, pix_charges, pix_paid)
+            SELECT CAST(o.date AS date),
+                   0, 0, 0,
+                   COUNT(*) FILTER (WHERE o.status = 'CONCLUIDA'),
+                   COALESCE(SUM(i.units) FILTER (WHERE o.status = 'CONCLUIDA'), 0),
+                   COALESCE(SUM(o.total_price) FILTER (WHERE o.status = 'CONCLUIDA'), 0),
+                   COUNT(*) FILTER (WHERE o.analytics_status IS NULL AND o.txid IS NOT NULL AND p.txid IS NULL),
+                   COUNT(*) FILTER (WHERE o.status = 'CONCLUIDA' AND o.txid IS NOT NULL AND p.txid IS NULL)
+            FROM order_cmp_table o
+            LEFT JOIN LATERAL (SELECT txid FROM order_table WHERE txid = o.txid LIMIT 1) p ON true
+            LEFT JOIN LATERAL (SELECT SUM(selected_amount_of_cmps) AS units FROM order_item_cmp
+                               WHERE order_cmp_id = o.order_cmp_id) i ON true
+            WHERE o.order_cmp_id IN (:ids)
+            GROUP BY CAST(o.date AS date)
+            ON CONFLICT (day) DO UPDATE SET
+                orders = s.orders + EXCLUDED.orders, units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue, cmp_orders = s.cmp_orders + EXCLUDED.cmp_orders,
+                cmp_units = s.cmp_units + EXCLUDED.cmp_units, cmp_revenue = s.cmp_revenue + EXCLUDED.cmp_revenue,
+                pix_charges = s.pix_charges + EXCLUDED.pix_charges, pix_paid = s.pix_paid + EXCLUDED.pix_paid
+            """, nativeQuery = true)
+    int addOrdersCmp(List<Long> ids);
+}
@@ -0,0 +1,42 @@
+package com.br.personniMoveis.repository;
+
+import com.br.personniMoveis.dto.analytics.OptionSalesDto;
+import com.br.personniMoveis.model.analytics.SalesOptionDaily;
+import com.br.personniMoveis.model.analytics.SalesOptionDailyId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesOptionDailyRepository extends JpaRepository<SalesOptionDaily, SalesOptionDailyId> {
+
+    /**
+     * Opções do configurador mais escolhidas no período.
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.analytics.OptionSalesDto(s.id.optionGroup, s.id.optionName, SUM(s.selections)) " +
+            "FROM SalesOptionDaily s WHERE s.id.day BETWEEN :from AND :to " +
+            "GROUP BY s.id.optionGroup, s.id.optionName ORDER BY SUM(s.selections) DESC")
+    List<OptionSalesDto> findTopOptions(LocalDate from, LocalDate to, Pageable limit);
+
+    /**
+     * Soma as opções escolhidas nos itens dos pedidos cmp pagos informados (snapshot json do item).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_option_daily AS s (day, option_group, option_name, selections)
+            SELECT CAST(o.date AS date), COALESCE(e.opt ->> 'group', ''), e.opt ->> 'name', SUM(i.selected_amount_of_cmps)
+            FROM order_cmp_table o
+            JOIN order_item_cmp i ON i.order_cmp_id = o.order_cmp_id
+            CROSS JOIN LATERAL jsonb_array_elements(i.selected_options) AS e(opt)
+            WHERE o.order_cmp_id IN (:ids) AND o.status = 'CONCLUIDA' AND i.selected_options IS NOT NULL
+              AND e.opt ->> 'name' IS NOT NULL
+            GROUP BY CAST(o.date AS date), COALESCE(e.opt ->> 'group', ''), e.opt ->> 'name'
+            ON CONFLICT (day, option_group, option_name) DO UPDATE SET selections = s.selections + EXCLUDED.selections
+            """, nativeQuery = true)
+    int addOrdersCmp(List<Long> ids);
+}
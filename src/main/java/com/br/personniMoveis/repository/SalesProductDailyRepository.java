@@ -0,0 +1,42 @@
+package com.br.personniMoveis.repository;
+
+import com.br.personniMoveis.dto.analytics.ProductSalesDto;
+import com.br.personniMoveis.model.analytics.SalesProductDaily;
+import com.br.personniMoveis.model.analytics.SalesProductDailyId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesProductDailyRepository extends JpaRepository<SalesProductDaily, SalesProductDailyId> {
+
+    /**
+     * Produtos mais vendidos (em unidades) no período.
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.analytics.ProductSalesDto(s.id.productId, p.name, SUM(s.units), SUM(s.revenue)) " +
+            "FROM SalesProductDaily s LEFT JOIN Product p ON p.productId = s.id.productId " +
+            "WHERE s.id.day BETWEEN :from AND :to " +
+            "GROUP BY s.id.productId, p.name ORDER BY SUM(s.units) DESC, SUM(s.revenue) DESC")
+    List<ProductSalesDto> findTopProducts(LocalDate from, LocalDate to, Pageable limit);
+
+    /**
+     * Soma os itens dos pedidos pagos informados (snapshot do checkout: produto, quantidade e subtotal).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_product_daily AS s (day, product_id, units, revenue)
+            SELECT CAST(o.date AS date), i.product_id, SUM(i.selected_amount_of_products), SUM(i.subtotal)
+            FROM order_table o
+            JOIN order_item i ON i.order_id = o.order_id
+            WHERE o.order_id IN (:ids) AND o.status = 'CONCLUIDA' AND i.product_id IS NOT NULL
+            GROUP BY CAST(o.date AS date), i.product_id
+            ON CONFLICT (day, product_id) DO UPDATE SET
+                units = s.units + EXCLUDED.units, revenue = s.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    int addOrders(List<Long> ids);
+}
@@ -2,9 +2,18 @@ package com.br.personniMoveis.repository;
 
 import com.br.personniMoveis.model.StoreProperties;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
 public interface StorePropertiesRepository extends JpaRepository<StoreProperties, Long> {
 
+    /**
+     * Versão das configurações da loja sem carregá-las.
+     */
+    @Query("SELECT s.dtUpdated FROM StoreProperties s WHERE s.storeId = :storeId")
+    Optional<LocalDateTime> findLastModifiedById(Long storeId);
 }
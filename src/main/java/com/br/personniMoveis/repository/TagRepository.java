@@ -1,10 +1,22 @@
 package com.br.personniMoveis.repository;
 
+import com.br.personniMoveis.dto.product.TagDto;
 import com.br.personniMoveis.model.product.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
+    /**
+     * Retorna todas as tags já como dto de leitura.
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.product.TagDto(t.tagId, t.tagName) FROM Tag t")
+    List<TagDto> findAllTags();
+
+    long countByTagIdIn(Collection<Long> tagIds);
 }
@@ -16,4 +16,6 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     UserEntity findUserByEmail(String email);
 
     List<UserEntity> findByIsRemovedFalse();
+
+    boolean existsByEmail(String email);
 }
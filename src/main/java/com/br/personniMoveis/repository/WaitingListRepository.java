@@ -0,0 +1,34 @@
+package com.br.personniMoveis.repository;
+
+import com.br.personniMoveis.dto.product.WaitingClientDto;
+import com.br.personniMoveis.model.product.WaitingListEntry;
+import com.br.personniMoveis.model.product.WaitingListEntryId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitingListRepository extends JpaRepository<WaitingListEntry, WaitingListEntryId> {
+
+    /**
+     * Próxima página (keyset por user_id, sem OFFSET) dos clientes aguardando o produto, só com e-mail e nome.
+     *
+     * @param afterUserId último user_id da página anterior (0 na primeira).
+     * @param limit       tamanho da página (Pageable.ofSize).
+     */
+    @Query("SELECT new com.br.personniMoveis.dto.product.WaitingClientDto(u.userId, u.email, u.name) " +
+            "FROM WaitingListEntry w JOIN UserEntity u ON u.userId = w.id.userId " +
+            "WHERE w.id.productId = :productId AND w.id.userId > :afterUserId ORDER BY w.id.userId")
+    List<WaitingClientDto> findWaitingClients(Long productId, Long afterUserId, Pageable limit);
+
+    /**
+     * Remove da lista de espera os clientes já notificados.
+     */
+    @Modifying
+    @Query("DELETE FROM WaitingListEntry w WHERE w.id.productId = :productId AND w.id.userId IN :userIds")
+    int deleteNotified(Long productId, List<Long> userIds);
+}
@@ -0,0 +1,93 @@
+package com.br.personniMoveis.repository.specification;
+
+import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.model.product.Product;
+import com.br.personniMoveis.model.product.ProductSearchVector;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Specifications para busca de produtos (ProductSearchService: página, contagem e facetas).
+ * Filtros sobre coleções (tags, materiais) usam EXISTS correlacionado, sem join na consulta principal, para não
+ * duplicar linhas nem exigir DISTINCT na paginação.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Produtos vigentes (não removidos logicamente).
+     */
+    public static Specification<Product> notRemoved() {
+        return (root, query, cb) -> cb.isFalse(root.get("isRemoved"));
+    }
+
+    /**
+     * Busca textual sobre nome e descrição (coluna search_vector + índice GIN). O vetor é lido de ProductSearchVector
+     * em subconsultas, fora do Product. Quando a consulta retorna a página de produtos (ProductGetDto) e não há outra
+     * ordenação, ordena por relevância.
+     */
+    public static Specification<Product> matchesText(String text) {
+        return (root, query, cb) -> {
+            if (ProductGetDto.class.equals(query.getResultType()) && query.getOrderList().isEmpty()) {
+                Subquery<Double> rank = query.subquery(Double.class);
+                Root<ProductSearchVector> vector = rank.from(ProductSearchVector.class);
+                rank.select(cb.function("fts_rank", Double.class, vector.get("searchVector"), cb.literal(text)))
+                        .where(cb.equal(vector.get("productId"), root.get("productId")));
+                query.orderBy(cb.desc(rank));
+            }
+            Subquery<Long> matches = query.subquery(Long.class);
+            Root<ProductSearchVector> vector = matches.from(ProductSearchVector.class);
+            matches.select(vector.get("productId")).where(cb.isTrue(
+                    cb.function("fts_match", Boolean.class, vector.get("searchVector"), cb.literal(text))));
+            return root.get("productId").in(matches);
+        };
+    }
+
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * Produtos que possuem ao menos uma das tags informadas.
+     */
+    public static Specification<Product> hasAnyTag(Collection<Long> tagIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Product> product = subquery.correlate(root);
+            Join<Object, Object> tag = product.join("tags");
+            subquery.select(tag.get("tagId")).where(tag.get("tagId").in(tagIds));
+            return cb.exists(subquery);
+        };
+    }
+
+    /**
+     * Produtos que possuem ao menos um dos materiais informados.
+     */
+    public static Specification<Product> hasAnyMaterial(Collection<Long> materialIds) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Product> product = subquery.correlate(root);
+            Join<Object, Object> material = product.join("materials");
+            subquery.select(material.get("materialId")).where(material.get("materialId").in(materialIds));
+            return cb.exists(subquery);
+        };
+    }
+
+    public static Specification<Product> priceGreaterThanOrEqualTo(Double minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("value"), minPrice);
+    }
+
+    public static Specification<Product> priceLessThanOrEqualTo(Double maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("value"), maxPrice);
+    }
+
+    public static Specification<Product> isAvailable(Boolean available) {
+        return (root, query, cb) -> cb.equal(root.get("available"), available);
+    }
+}
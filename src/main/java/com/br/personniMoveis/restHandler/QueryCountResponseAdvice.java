@@ -0,0 +1,36 @@
+package com.br.personniMoveis.restHandler;
+
+import com.br.personniMoveis.filter.QueryCountFilter;
+import com.br.personniMoveis.utils.RequestQueryStats;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Seta os headers de contagem de statements antes da serialização do corpo (depois disso a resposta já foi enviada).
+ * Loads feitos durante a serialização entram somente na métrica registrada pelo QueryCountFilter.
+ */
+@ControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QueryCountFilter.QUERY_COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+            response.getHeaders().set(QueryCountFilter.QUERY_TIME_HEADER, String.valueOf(stats.getDbTimeMillis()));
+        }
+        return body;
+    }
+}
@@ -1,6 +1,7 @@
 package com.br.personniMoveis.restHandler;
 
 import com.br.personniMoveis.exception.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -58,4 +59,18 @@ public class RestExceptionHandler {
                         .timestamp(LocalDateTime.now())
                         .build(), HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<RequestExceptionDetails> handlerServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                // Tempo aproximado para o circuit breaker voltar a permitir chamadas.
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(RequestExceptionDetails.builder()
+                        .title("Serviço temporariamente indisponível, tente novamente em instantes.")
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .details(ex.getMessage())
+                        .appMessage("Exceção gerada na classe: ".concat(ex.getClass().getName()))
+                        .timestamp(LocalDateTime.now())
+                        .build());
+    }
 }
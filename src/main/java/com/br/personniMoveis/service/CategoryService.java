@@ -1,8 +1,10 @@
 package com.br.personniMoveis.service;
 
+import com.br.personniMoveis.config.CacheConfig;
 import com.br.personniMoveis.dto.CategoryDto.CategoryCmpDto;
 import com.br.personniMoveis.dto.CategoryDto.CategoryGetByIdDto;
 import com.br.personniMoveis.dto.CategoryDto.CategoryGetDto;
+import com.br.personniMoveis.dto.ResourceVersionDto;
 import com.br.personniMoveis.dto.SectionCmpDto.SectionCmpDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
 import com.br.personniMoveis.exception.ResourceNotFoundException;
@@ -14,36 +16,51 @@ import com.br.personniMoveis.model.productCmp.SectionCmp;
 import com.br.personniMoveis.repository.CategoryRepository;
 import com.br.personniMoveis.repository.ElementCmpRepository;
 import com.br.personniMoveis.repository.OptionCmpRepository;
+import com.br.personniMoveis.repository.ProductRepository;
 import com.br.personniMoveis.repository.SectionCmpRepository;
 import com.br.personniMoveis.service.productCmp.SectionCmpService;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class CategoryService {
 
+    private static final String CATEGORY_IDS_KEY = "ids";
+
     private final CategoryRepository categoryRepository;
     private final SectionCmpService sectionCmpService;
     private final SectionCmpRepository sectionCmpRepository;
     private final ElementCmpRepository elementCmpRepository;
     private final OptionCmpRepository optionCmpRepository;
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
 
     @Autowired
     public CategoryService(CategoryRepository categoryRepository,
                            SectionCmpService sectionCmpService,
                            SectionCmpRepository sectionCmpRepository,
                            ElementCmpRepository elementCmpRepository,
-                           OptionCmpRepository optionCmpRepository) {
+                           OptionCmpRepository optionCmpRepository,
+                           ProductRepository productRepository,
+                           CacheManager cacheManager) {
         this.categoryRepository = categoryRepository;
         this.sectionCmpService = sectionCmpService;
         this.sectionCmpRepository = sectionCmpRepository;
         this.elementCmpRepository = elementCmpRepository;
         this.optionCmpRepository = optionCmpRepository;
+        this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
     }
 
 
@@ -52,7 +69,30 @@ public class CategoryService {
                 () -> new ResourceNotFoundException("Categoria não encontrada"));
     }
 
-    @Transactional
+    /**
+     * Verifica se a categoria existe pelos ids em cache. Categoria ausente do cache (criada em outra instância depois
+     * do carregamento) é confirmada no BD e o cache de ids é recarregado na próxima consulta.
+     */
+    public void checkCategoryExistsOrThrowNotFoundException(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        Set<Long> categoryIds = cache.get(CATEGORY_IDS_KEY, categoryRepository::findAllIds);
+        if (!categoryIds.contains(id)) {
+            if (!categoryRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Categoria não encontrada");
+            }
+            cache.evict(CATEGORY_IDS_KEY);
+        }
+    }
+
+    /**
+     * Referência da categoria para associação (ex: produto), sem carregá-la do BD.
+     */
+    public Category getCategoryReference(Long id) {
+        checkCategoryExistsOrThrowNotFoundException(id);
+        return categoryRepository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
     public CategoryGetByIdDto findCategoryCmpByIdOrThrowBadRequestException(Long id) {
         Category category = findCategoryOrThrowNotFoundException(id);
 
@@ -77,6 +117,7 @@ public class CategoryService {
     }
 
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public Category createCategoryCmp(CategoryCmpDto categoryCmpDto) {
         // Cria nova categoria.
         Category newCategory = CategoryMapper.INSTANCE.categoryCmpDtoToCategory(categoryCmpDto);
@@ -96,6 +137,7 @@ public class CategoryService {
         return category;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public void updateCategoryCmp(CategoryCmpDto categoryCmpDto, Long categoryId) {
         findCategoryOrThrowNotFoundException(categoryId);
         // Atualiza os dados da categoria
@@ -103,6 +145,8 @@ public class CategoryService {
         updatedCategory.setId(categoryId);
         updatedCategory.setIsRemoved(false);
         categoryRepository.save(updatedCategory);
+        // Categoria aparece nas leituras dos seus produtos.
+        productRepository.touchProductsInCategory(categoryId, LocalDateTime.now());
 
         // Atualiza seções existentes ou cria novas seções
         if (!categoryCmpDto.getSectionCmpDtos().isEmpty()) {
@@ -131,22 +175,47 @@ public class CategoryService {
     /**
      * Faz delete lógico da categoria.
      */
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    @Transactional
     public void deleteCategory(Long id) {
         Category categoryToDelete = findCategoryOrThrowNotFoundException(id);
         // Faz delete lógico da categoria.
         categoryToDelete.setIsRemoved(true);
         categoryRepository.save(categoryToDelete);
+        productRepository.touchProductsInCategory(id, LocalDateTime.now());
     }
 
     /**
      * Retorna categorias vigentes.
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
+    @Transactional(readOnly = true)
     public List<CategoryGetDto> getAllCategories() {
         return categoryRepository.findByIsRemovedFalse().stream().map(CategoryMapper.INSTANCE::CategoryToCategoryGetDto).toList();
     }
 
+    /**
+     * Versão da categoria com seu configurador (base do ETag/Last-Modified), vazia se a categoria não existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getCategoryLastModified(Long categoryId) {
+        return categoryRepository.findLastModifiedById(categoryId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'version'")
+    @Transactional(readOnly = true)
+    public ResourceVersionDto getCategoriesVersion() {
+        return categoryRepository.findCategoriesVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersionDto getProductsInCategoryVersion(Long categoryId) {
+        return categoryRepository.findProductsInCategoryVersion(categoryId);
+    }
+
+    @Transactional(readOnly = true)
     public List<ProductGetDto> getAllProductsInCategory(Long categoryId) {
-        findCategoryOrThrowNotFoundException(categoryId);
+        checkCategoryExistsOrThrowNotFoundException(categoryId);
         return categoryRepository.getAllProductsInCategory(categoryId);
     }
 }
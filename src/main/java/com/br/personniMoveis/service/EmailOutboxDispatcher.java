@@ -0,0 +1,138 @@
+package com.br.personniMoveis.service;
+
+import com.br.personniMoveis.model.EmailOutbox;
+import com.br.personniMoveis.model.EmailOutboxStatus;
+import com.br.personniMoveis.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drena o outbox de e-mails em lotes: reivindica pendentes com FOR UPDATE SKIP LOCKED (adiando-os pelo tempo de
+ * lease), envia em paralelo com até {@code parallelism} sessões SMTP e registra o resultado de cada envio. Falhas são
+ * repetidas com backoff exponencial; ao esgotar as tentativas o e-mail vai para DEAD (dead letter).
+ * <p>
+ * O lote reivindicado é limitado ao que o lease cobre no pior caso: {@code parallelism} envios a cada
+ * {@code max-send-seconds} (timeouts SMTP esgotados). Assim o lease não expira com e-mails do lote ainda em envio, que
+ * outra instância reivindicaria e enviaria de novo.
+ */
+@Component
+@Lazy(false)
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService smtpExecutor;
+
+    /**
+     * E-mails por reivindicação: batch-size limitado a parallelism x (lease / max-send-seconds).
+     */
+    private final int claimSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBackoff;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, EmailService emailService,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${personni.email-outbox.batch-size:50}") int batchSize,
+                                 @Value("${personni.email-outbox.parallelism:4}") int parallelism,
+                                 @Value("${personni.email-outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${personni.email-outbox.lease-seconds:300}") long leaseSeconds,
+                                 @Value("${personni.email-outbox.max-send-seconds:60}") long maxSendSeconds,
+                                 @Value("${personni.email-outbox.retry-backoff-seconds:30}") long retryBackoffSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.smtpExecutor = Executors.newFixedThreadPool(parallelism);
+        long sendsPerSession = Math.max(1, leaseSeconds / maxSendSeconds);
+        this.claimSize = (int) Math.max(1, Math.min(batchSize, parallelism * sendsPerSession));
+        if (leaseSeconds < maxSendSeconds) {
+            log.warn("lease-seconds ({}s) menor que max-send-seconds ({}s): o lease pode expirar durante o envio.",
+                    leaseSeconds, maxSendSeconds);
+        }
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        smtpExecutor.shutdown();
+    }
+
+    /**
+     * Envia lotes até esvaziar os pendentes prontos para envio.
+     */
+    @Scheduled(fixedDelayString = "${personni.email-outbox.poll-ms:2000}")
+    public void dispatch() {
+        List<EmailOutbox> batch;
+        do {
+            batch = claimBatch();
+            CompletableFuture.allOf(batch.stream()
+                    .map(email -> CompletableFuture.runAsync(() -> deliver(email), smtpExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } while (batch.size() == claimSize);
+    }
+
+    /**
+     * Trava e adia (lease) um lote de pendentes numa transação curta; o envio acontece fora dela.
+     */
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> claimed = emailOutboxRepository.claimPending(now, claimSize);
+            if (!claimed.isEmpty()) {
+                emailOutboxRepository.lease(claimed.stream().map(EmailOutbox::getId).toList(), now.plus(lease));
+            }
+            return claimed;
+        });
+    }
+
+    private void deliver(EmailOutbox email) {
+        try {
+            emailService.deliver(email.getRecipient(), email.getSubject(), email.getBody());
+            emailOutboxRepository.markSent(email.getId(), LocalDateTime.now());
+            meterRegistry.counter("personni.email.outbox", "outcome", "sent").increment();
+        } catch (RuntimeException e) {
+            int attempts = email.getAttempts() + 1;
+            String error = truncate(String.valueOf(e.getMessage()));
+            if (attempts >= maxAttempts) {
+                log.error("E-mail {} para {} descartado após {} tentativas: {}", email.getId(), email.getRecipient(),
+                        attempts, error);
+                emailOutboxRepository.markFailed(email.getId(), EmailOutboxStatus.DEAD, LocalDateTime.now(), error);
+                meterRegistry.counter("personni.email.outbox", "outcome", "dead").increment();
+            } else {
+                // Backoff exponencial: base, 2x base, 4x base...
+                LocalDateTime nextAttempt = LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << (attempts - 1)));
+                log.warn("Falha ao enviar e-mail {} (tentativa {}): {}", email.getId(), attempts, error);
+                emailOutboxRepository.markFailed(email.getId(), EmailOutboxStatus.PENDING, nextAttempt, error);
+                meterRegistry.counter("personni.email.outbox", "outcome", "retry").increment();
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,19 +1,38 @@
 package com.br.personniMoveis.service;
 
+import com.br.personniMoveis.dto.product.WaitingClientDto;
+import com.br.personniMoveis.event.OrderStatusChangedEvent;
+import com.br.personniMoveis.model.EmailOutbox;
+import com.br.personniMoveis.model.EmailOutboxStatus;
 import com.br.personniMoveis.model.product.Product;
+import com.br.personniMoveis.model.user.UserEntity;
+import com.br.personniMoveis.repository.EmailOutboxRepository;
+import com.br.personniMoveis.repository.OrderCmpRepository;
+import com.br.personniMoveis.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Serviço para fazer gerenciamento de envio de e-mails. Para ampliar
  * capacidades de transmissão de dados via e-mail, usa MIME (Multipurpose
  * Internet Mail Extensions) do objeto MimeMessage.
+ * <p>
+ * As mensagens são gravadas no outbox (email_outbox) na transação de quem as origina e enviadas pelo
+ * EmailOutboxDispatcher em segundo plano: a latência do SMTP não entra nas requisições. O HTML vem dos templates
+ * de {@link EmailTemplateService}.
  */
 @Service
 public class EmailService {
@@ -23,11 +42,48 @@ public class EmailService {
      */
     private final JavaMailSender javaMailSender;
     private final StorePropertiesService storeService;
+    private final MeterRegistry meterRegistry;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final OrderRepository orderRepository;
+    private final OrderCmpRepository orderCmpRepository;
+    private final EmailTemplateService emailTemplateService;
 
     @Autowired
-    public EmailService(JavaMailSender javaMailSender, StorePropertiesService storeService) {
+    public EmailService(JavaMailSender javaMailSender, StorePropertiesService storeService, MeterRegistry meterRegistry,
+                        EmailOutboxRepository emailOutboxRepository, OrderRepository orderRepository,
+                        OrderCmpRepository orderCmpRepository, EmailTemplateService emailTemplateService) {
         this.javaMailSender = javaMailSender;
         this.storeService = storeService;
+        this.meterRegistry = meterRegistry;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.orderRepository = orderRepository;
+        this.orderCmpRepository = orderCmpRepository;
+        this.emailTemplateService = emailTemplateService;
+    }
+
+    /**
+     * Grava e-mail no outbox (na transação corrente, se houver) para envio em segundo plano.
+     */
+    private void enqueue(String to, String subject, String html) {
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(html)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /**
+     * Envia via SMTP um e-mail do outbox. Usado pelo EmailOutboxDispatcher.
+     *
+     * @throws RuntimeException se o envio falhar.
+     */
+    public void deliver(String to, String subject, String html) {
+        sendEmail(to, subject, html, Optional.empty());
     }
 
     /**
@@ -44,8 +100,17 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(text, true);
             //helper.addAttachment(attachment);
-            // Envia e-mail.
-            javaMailSender.send(message);
+            // Envia e-mail registrando a latência do envio SMTP.
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                javaMailSender.send(message);
+            } catch (RuntimeException ex) {
+                outcome = "error";
+                throw ex;
+            } finally {
+                sample.stop(meterRegistry.timer("personni.email.sends", "outcome", outcome));
+            }
 
         } catch (MessagingException ex) {
             try {
@@ -57,69 +122,24 @@ public class EmailService {
     }
 
     /**
-     * Gera a div para organizar conteúdo da mensagem.
+     * Notifica os clientes de que um produto indisponível de sua lista de espera
+     * retornou à loja. O corpo é renderizado uma vez e só o nome muda por cliente.
      *
-     * @return String com HTML da div.
+     * @param clients     Clientes da lista de espera (uma página deles).
+     * @param productName Nome do produto que retornou ao estoque.
+     * @param productUrl  URL do produto que retornou ao estoque.
      */
-    private String generateDiv(String regularMsg, Optional<String> complementMessage, Optional<String> imgPath,
-                               String buttonMessage, String redirectLink) {
-        // Se houver imagem para mostrar no e-mail.
-        String imgTag = imgPath.map(
-                path -> String.format("<img src=\"%s\"><br><br>", path)
-        ).orElse("");
-        // Se houver mensagem complementar para mostrar, cria parágrado com msg.
-        String complementMessagePtag = complementMessage.map(
-                msg -> String.format("<p style='font-size:16px;'>%s</p><br><br>", msg)
-        ).orElse("");
-        // Retorna HTML com argumentos formatados no corpo do e-mail.
-        return """
-                 <div style="justify-content: center;">
-                     <h1>%s</h1>
-                     <p>%s<p/>
-                     %s
-                     %s
-                 </div>
-                """.formatted(regularMsg, complementMessagePtag, imgTag, generateButton(buttonMessage, redirectLink));
-    }
-
-    /**
-     * Constroi HTML do botão com mensagem e âncora de redirecionamento.
-     *
-     * @param buttonMessage Mesagem demonstrada no botão.
-     * @param redirectLink  Link que redirecionará usuário ao clicar no botão.
-     * @return HTML do botão.
-     */
-    private String generateButton(String buttonMessage, String redirectLink) {
-        return """
-                 <a href="%s" target="_blank">
-                     <button
-                         style="background-color:#0a0a23; color:#ffffff; padding:20px; margin-left:10px; cursor: pointer; border-radius: 10px; border: none; width: 50%%">
-                         %s
-                     </button>
-                 </a>
-                """.formatted(redirectLink, buttonMessage);
-    }
-
-    /**
-     * Notifica o cliente de que um produto indisponível de sua lista de espera
-     * retornou à loja.
-     *
-     * @param to         Endereço de e-mail de destino.
-     * @param product    Detalhes do produto a serem exibidos ao cliente.
-     * @param clientName Nome do cliente.
-     * @param productUrl URL do produto que retornou ao estoque.
-     */
-    public void productArrivedMessage(String to, String clientName, Product product, String productUrl) {
-        // Constrói strings de conteúdo do e-mail.
+    public void productArrivedMessages(Collection<WaitingClientDto> clients, String productName, String productUrl) {
+        if (clients.isEmpty()) {
+            return;
+        }
         String subject = "Um produto que você aguardava acabou de chagar na ".concat(storeService.getStore().getStoreName());
-        String mainContent = generateDiv(
-                "Olá ".concat(clientName).concat(", o produto ".concat(product.getName()).concat(" da sua lista de espera acabou de retornar para nossa loja!")),
-                Optional.empty(),
-                Optional.empty(),
-                "Ver na loja",
-                productUrl);
-        // Envia e-mail.
-        sendEmail(to, subject, mainContent, Optional.empty());
+        EmailTemplateService.PreparedTemplate body = emailTemplateService.prepare("product-arrived", Map.of(
+                "productName", productName,
+                "buttonLabel", "Ver na loja",
+                "link", productUrl), "clientName");
+        // Grava um e-mail por cliente no outbox.
+        clients.forEach(client -> enqueue(client.getEmail(), subject, body.render(Map.of("clientName", client.getName()))));
     }
 
     public void productSent(String to, String clientName, Product product, String productUrl) {
@@ -131,45 +151,68 @@ public class EmailService {
      *
      * @param to         Endereço de e-mail de destino.
      * @param clientName Nome do cliente recém cadastrado.
-     * @throws jakarta.mail.MessagingException Exceção no envio da mensagem.
      */
-    public void validateAccount(String to, String clientName, String token) throws MessagingException {
+    public void validateAccount(String to, String clientName, String token) {
         // configs loja.
         var store = storeService.getStore();
         // Constrói strings de conteúdo do e-mail.
         String subject = "Valide sua conta da ".concat(storeService.getStore().getStoreName());
-        String mainContent = generateDiv(
-                "Olá ".concat(clientName).concat(" falta pouco para criar sua conta na ").concat(store.getStoreName()),
-                Optional.of("Acesse sua conta com seu e-mail e senha."),
-                Optional.empty(),
-                "Valide clicando aqui",
-                store.getSiteContext().concat("validated-account/?token=").concat(token));
-        sendEmail(to, subject, mainContent, Optional.empty());
+        String mainContent = emailTemplateService.render("validate-account", Map.of(
+                "clientName", clientName,
+                "storeName", store.getStoreName(),
+                "buttonLabel", "Valide clicando aqui",
+                "link", store.getSiteContext().concat("validated-account/?token=").concat(token)));
+        enqueue(to, subject, mainContent);
     }
 
-    public void changePassword(String to, String token) throws MessagingException {
+    public void changePassword(String to, String token) {
         var store = storeService.getStore();
         // Constrói strings de conteúdo do e-mail.
         String subject = "Mude a senha da sua conta na - ".concat(storeService.getStore().getStoreName());
-        String mainContent = generateDiv(
-                "Parece que você quer redefinir sua senha",
-                Optional.of("Ignore esse e-mail caso não queira modificar sua senha."),
-                Optional.empty(),
-                "Mude a senha clicando aqui",
-                store.getSiteContext().concat("update-password/?token=").concat(token));
-        sendEmail(to, subject, mainContent, Optional.empty());
+        String mainContent = emailTemplateService.render("change-password", Map.of(
+                "buttonLabel", "Mude a senha clicando aqui",
+                "link", store.getSiteContext().concat("update-password/?token=").concat(token)));
+        enqueue(to, subject, mainContent);
+    }
+
+    /**
+     * Avisa o cliente do resultado do pagamento (CONCLUIDA ou CANCELADO). Roda antes do commit da transação que muda o
+     * status, então o e-mail entra no outbox junto da alteração (ou imediatamente, fora de transação).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!"CONCLUIDA".equals(event.getStatus()) && !"CANCELADO".equals(event.getStatus())) {
+            return;
+        }
+        Optional<UserEntity> user = event.isCmp()
+                ? orderCmpRepository.findUserById(event.getOrderId())
+                : orderRepository.findUserById(event.getOrderId());
+        user.ifPresent(client -> orderPaymentStatusMessage(client.getEmail(), client.getName(), event.getOrderId(),
+                "CONCLUIDA".equals(event.getStatus())));
+    }
+
+    private void orderPaymentStatusMessage(String to, String clientName, Long orderId, boolean paid) {
+        var store = storeService.getStore();
+        String subject = paid
+                ? "Pagamento confirmado - pedido #%d na %s".formatted(orderId, store.getStoreName())
+                : "Pedido #%d cancelado - %s".formatted(orderId, store.getStoreName());
+        String mainContent = emailTemplateService.render(paid ? "order-paid" : "order-canceled", Map.of(
+                "clientName", clientName,
+                "orderId", orderId,
+                "buttonLabel", "Ver na loja",
+                "link", store.getSiteContext()));
+        enqueue(to, subject, mainContent);
     }
 
     public void test(String to, String storeName, String clientName) {
         // Constrói strings de conteúdo do e-mail.
         String subject = "Olá vindo da ".concat(storeName);
         // gera conteúdo central.
-        String mainContent = generateDiv(
-                "Olá ".concat(clientName).concat(", isso é uma mensagem teste. Mensagem complementar e imagem teste abaixo:"),
-                Optional.of("Mesagem complementar de teste aqui!"),
-                Optional.of("https://cloudfront-us-east-1.images.arcpublishing.com/estadao/HJTUCODBWJKFJK4BUEG4ZA5XYU.jpg"),
-                "Clique aqui",
-                "https://www.youtube.com/watch?v=dQw4w9WgXcQ&ab_channel=RickAstley");
+        String mainContent = emailTemplateService.render("test", Map.of(
+                "clientName", clientName,
+                "imageUrl", "https://cloudfront-us-east-1.images.arcpublishing.com/estadao/HJTUCODBWJKFJK4BUEG4ZA5XYU.jpg",
+                "buttonLabel", "Clique aqui",
+                "link", "https://www.youtube.com/watch?v=dQw4w9WgXcQ&ab_channel=RickAstley"));
         sendEmail(to, subject, mainContent, Optional.empty());
     }
 }
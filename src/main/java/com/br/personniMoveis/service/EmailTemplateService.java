@@ -0,0 +1,198 @@
+package com.br.personniMoveis.service;
+
+import com.samskivert.mustache.Escapers;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Templates dos e-mails (Mustache). Todos os arquivos {@code templates/email/*.mustache} são compilados uma vez na
+ * inicialização e mantidos em cache pelo nome do arquivo (sem extensão); {@code templates/email/partials} contém os
+ * trechos incluídos com {@code {{> nome}}}. Valores interpolados com {@code {{var}}} são escapados para HTML.
+ * <p>
+ * Novo e-mail = novo arquivo .mustache + chamada a {@link #render} com o contexto (mapa de valores).
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final String TEMPLATES = "templates/email/";
+    private static final String PARTIALS = TEMPLATES + "partials/";
+
+    /**
+     * Buffers de renderização reaproveitados entre chamadas (pool em vez de ThreadLocal: com virtual threads cada
+     * tarefa é uma thread nova e o ThreadLocal nunca seria reaproveitado). Buffers que cresceram demais são descartados.
+     */
+    private static final int BUFFER_POOL_SIZE = 16;
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Marca os campos por destinatário na renderização compartilhada ({@link #prepare}). Não é alterado pelo escape HTML.
+     */
+    private static final char SLOT_MARK = '\u0000';
+
+    private final Map<String, Template> templates;
+    private final BlockingQueue<StringWriter> buffers = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public EmailTemplateService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.templates = compileAll();
+    }
+
+    /**
+     * Renderiza o template com os valores informados.
+     *
+     * @param name    nome do template (arquivo sem extensão).
+     * @param context valores referenciados no template.
+     * @return HTML do e-mail.
+     * @throws IllegalArgumentException se o template não existe.
+     */
+    public String render(String name, Map<String, ?> context) {
+        Template template = getTemplate(name);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        StringWriter buffer = borrowBuffer();
+        try {
+            template.execute(context, buffer);
+            return buffer.toString();
+        } finally {
+            releaseBuffer(buffer);
+            sample.stop(meterRegistry.timer("personni.email.renders", "template", name));
+        }
+    }
+
+    /**
+     * Renderiza uma única vez a parte comum de um e-mail enviado a vários destinatários. Os campos de
+     * {@code recipientFields} ficam como lacunas preenchidas por {@link PreparedTemplate#render(Map)} para cada
+     * destinatário, sem executar o template de novo. Esses campos devem aparecer no template apenas como
+     * {@code {{campo}}} (não em seções).
+     *
+     * @param name            nome do template (arquivo sem extensão).
+     * @param sharedContext   valores iguais para todos os destinatários.
+     * @param recipientFields nomes dos valores que mudam por destinatário.
+     */
+    public PreparedTemplate prepare(String name, Map<String, ?> sharedContext, String... recipientFields) {
+        Map<String, Object> context = new HashMap<>(sharedContext);
+        for (int i = 0; i < recipientFields.length; i++) {
+            context.put(recipientFields[i], String.valueOf(SLOT_MARK) + i + SLOT_MARK);
+        }
+        String shared = render(name, context);
+        // Quebra o HTML renderizado em trechos fixos intercalados com as lacunas.
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int start = 0;
+        int open = shared.indexOf(SLOT_MARK);
+        while (open >= 0) {
+            int close = shared.indexOf(SLOT_MARK, open + 1);
+            literals.add(shared.substring(start, open));
+            slots.add(recipientFields[Integer.parseInt(shared.substring(open + 1, close))]);
+            start = close + 1;
+            open = shared.indexOf(SLOT_MARK, start);
+        }
+        literals.add(shared.substring(start));
+        return new PreparedTemplate(literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    private Template getTemplate(String name) {
+        Template template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Template de e-mail inexistente: " + name);
+        }
+        return template;
+    }
+
+    private StringWriter borrowBuffer() {
+        StringWriter buffer = buffers.poll();
+        if (buffer == null) {
+            return new StringWriter(INITIAL_BUFFER_SIZE);
+        }
+        buffer.getBuffer().setLength(0);
+        return buffer;
+    }
+
+    private void releaseBuffer(StringWriter buffer) {
+        if (buffer.getBuffer().capacity() <= MAX_POOLED_BUFFER_SIZE) {
+            buffers.offer(buffer);
+        }
+    }
+
+    private static Map<String, Template> compileAll() {
+        Mustache.Compiler compiler = Mustache.compiler()
+                .withEscaper(Escapers.HTML)
+                .nullValue("")
+                .withLoader(partial -> reader(new PathMatchingResourcePatternResolver()
+                        .getResource("classpath:" + PARTIALS + partial + ".mustache")));
+        Map<String, Template> compiled = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + TEMPLATES + "*.mustache")) {
+                String fileName = resource.getFilename();
+                try (Reader reader = reader(resource)) {
+                    compiled.put(fileName.substring(0, fileName.length() - ".mustache".length()), compiler.compile(reader));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Erro ao carregar templates de e-mail.", ex);
+        }
+        return Map.copyOf(compiled);
+    }
+
+    private static Reader reader(Resource resource) throws IOException {
+        return new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * E-mail com a parte comum já renderizada: trechos fixos intercalados com lacunas por destinatário.
+     */
+    public static final class PreparedTemplate {
+
+        private final String[] literals;
+        private final String[] slots;
+        private final int fixedLength;
+
+        private PreparedTemplate(String[] literals, String[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.fixedLength = length;
+        }
+
+        /**
+         * Preenche as lacunas com os valores do destinatário (escapados para HTML).
+         *
+         * @param recipientValues valores dos campos informados em {@link #prepare}.
+         * @return HTML do e-mail do destinatário.
+         */
+        public String render(Map<String, String> recipientValues) {
+            StringBuilder html = new StringBuilder(fixedLength + 64 * slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                html.append(literals[i]);
+                String value = recipientValues.get(slots[i]);
+                html.append(value == null ? "" : Escapers.HTML.escape(value));
+            }
+            return html.append(literals[slots.length]).toString();
+        }
+    }
+}
@@ -1,61 +1,83 @@
 package com.br.personniMoveis.service;
 
 import com.br.personniMoveis.dto.*;
-import com.br.personniMoveis.dto.ProductCmp.ProductCmpDto;
+import com.br.personniMoveis.dto.order.OrderCmpGetDto;
+import com.br.personniMoveis.dto.order.OrderGetDto;
+import com.br.personniMoveis.dto.order.OrderSummaryDto;
+import com.br.personniMoveis.dto.order.OrderSummaryPageDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import com.br.personniMoveis.event.ProductRestockedEvent;
 import com.br.personniMoveis.exception.BadRequestException;
 import com.br.personniMoveis.exception.ConflictException;
 import com.br.personniMoveis.exception.ResourceNotFoundException;
-import com.br.personniMoveis.mapper.ProductCmp.ProductCmpMapper;
+import com.br.personniMoveis.mapper.Order.OrderMapper;
 import com.br.personniMoveis.model.product.Option;
 import com.br.personniMoveis.model.product.Product;
 import com.br.personniMoveis.model.product.Section;
-import com.br.personniMoveis.model.productCmp.ElementCmp;
-import com.br.personniMoveis.model.productCmp.OptionCmp;
 import com.br.personniMoveis.model.productCmp.ProductCmp;
-import com.br.personniMoveis.model.productCmp.SectionCmp;
+import com.br.personniMoveis.model.productCmp.ProductCmpSelection;
 import com.br.personniMoveis.model.user.*;
 import com.br.personniMoveis.repository.*;
 import com.br.personniMoveis.service.payment.PaymentService;
-import com.br.personniMoveis.service.product.ProductService;
 import com.br.personniMoveis.service.productCmp.ProductCmpService;
 import com.br.personniMoveis.utils.AuthUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
     private final OrderRepository orderRepository;
     private final OrderCmpRepository orderCmpRepository;
-    private final OrderItemRepository orderItemRepository;
-    private final OrderItemCmpRepository orderItemCmpRepository;
-    private final ProductService productService;
+    private final ProductRepository productRepository;
     private final UserService userService;
     private final PaymentService paymentService;
-    private final OptionRepository optionRepository;
     private final AuthUtils authUtils;
     private final ProductCmpService productCmpService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter stockConflictCounter;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public OrderService(OrderRepository orderRepository, OrderCmpRepository orderCmpRepository,
-                        OrderItemRepository orderItemRepository, OrderItemCmpRepository orderItemCmpRepository,
-                        ProductService productService, UserService userService, PaymentService paymentService,
-                        OptionRepository optionRepository, AuthUtils authUtils, ProductCmpService productCmpService) {
+                        ProductRepository productRepository, UserService userService, PaymentService paymentService,
+                        AuthUtils authUtils, ProductCmpService productCmpService,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                        OrderStatusStreamService orderStatusStreamService, ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.orderCmpRepository = orderCmpRepository;
-        this.orderItemRepository = orderItemRepository;
-        this.orderItemCmpRepository = orderItemCmpRepository;
-        this.productService = productService;
+        this.productRepository = productRepository;
         this.userService = userService;
         this.paymentService = paymentService;
-        this.optionRepository = optionRepository;
         this.authUtils = authUtils;
         this.productCmpService = productCmpService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stockConflictCounter = Counter.builder("personni.orders.stock.conflicts")
+                .description("Pedidos recusados por estoque insuficiente")
+                .register(meterRegistry);
+        this.orderStatusStreamService = orderStatusStreamService;
+        this.eventPublisher = eventPublisher;
     }
 
     public Order findOrderOrThrowBadRequestException(Long orderId) {
@@ -63,40 +85,102 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado."));
     }
 
+    @Transactional
     public List<OrderItem> getOrderItemsByOrderId(Long orderId) {
         Order order = findOrderOrThrowBadRequestException(orderId);
         return order.getOrderItems();
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Os dtos são montados dentro da transação; itens e produtos dos pedidos são carregados em lote
+     * (hibernate.default_batch_fetch_size).
+     */
+    @Transactional
+    public List<OrderGetDto> getAllOrders() {
+        return OrderMapper.INSTANCE.ordersToOrderGetDtos(orderRepository.findAll());
     }
 
     @Transactional
-    public List<OrderCmp> getAllOrdersCmp() {
-        return orderCmpRepository.findAll();
+    public List<OrderCmpGetDto> getAllOrdersCmp() {
+        return OrderMapper.INSTANCE.orderCmpsToOrderCmpGetDtos(orderCmpRepository.findAll());
+    }
+
+    /**
+     * Página do histórico de pedidos do usuário (resumos sem itens, mais recentes primeiro).
+     *
+     * @param token token de id do user.
+     * @param page  página (a partir de 0).
+     * @param size  pedidos por página (máximo 50).
+     */
+    public OrderSummaryPageDto getUserOrders(String token, int page, int size) {
+        return toSummaryPage(orderRepository.findSummariesByUserId(authUtils.getUserId(token), historyPage(page, size)));
     }
 
+    public OrderSummaryPageDto getUserCmpOrders(String token, int page, int size) {
+        return toSummaryPage(orderCmpRepository.findSummariesByUserId(authUtils.getUserId(token), historyPage(page, size)));
+    }
+
+    /**
+     * Pedido do usuário com itens e produtos (detalhe de uma linha do histórico).
+     */
     @Transactional
-    public List<Order> getUserOrders(String token) {
-        // Identifica se usuário indicado existe.
-        Long userId = authUtils.getUserId(token);
-        UserEntity user = userService.findUserOrThrowNotFoundException(userId);
-        // Retorna pedidos do usuário
-        return user.getOrders();
+    public OrderGetDto getUserOrder(String token, Long orderId) {
+        return OrderMapper.INSTANCE.orderToOrderGetDto(orderRepository
+                .findByOrderIdAndUserUserId(orderId, authUtils.getUserId(token))
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado.")));
     }
 
     @Transactional
-    public List<OrderCmp> getUserCmpOrders(String token) {
-        // Identifica se usuário indicado existe.
-        Long userId = authUtils.getUserId(token);
-        UserEntity user = userService.findUserOrThrowNotFoundException(userId);
-        // Retorna pedidos do usuário
-        return user.getOrderCmps();
+    public OrderCmpGetDto getUserCmpOrder(String token, Long orderCmpId) {
+        return OrderMapper.INSTANCE.orderCmpToOrderCmpGetDto(orderCmpRepository
+                .findByOrderCmpIdAndUserUserId(orderCmpId, authUtils.getUserId(token))
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido cmp não encontrado.")));
+    }
+
+    private static PageRequest historyPage(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Página deve ser >= 0 e tamanho >= 1.");
+        }
+        return PageRequest.of(page, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+    }
+
+    private static OrderSummaryPageDto toSummaryPage(Slice<OrderSummaryDto> orders) {
+        return new OrderSummaryPageDto(orders.getContent(), orders.getNumber(), orders.getSize(), orders.hasNext());
+    }
+
+    /**
+     * Abre stream SSE do status de pagamento do pedido do usuário.
+     *
+     * @param token   token de id do user.
+     * @param orderId id do pedido.
+     */
+    public SseEmitter streamOrderStatus(String token, Long orderId) {
+        if (!orderRepository.existsByOrderIdAndUserUserId(orderId, authUtils.getUserId(token))) {
+            throw new ResourceNotFoundException("Pedido não encontrado.");
+        }
+        return orderStatusStreamService.subscribe(false, orderId, () -> orderRepository.findStatusById(orderId));
+    }
+
+    /**
+     * Abre stream SSE do status de pagamento do pedido cmp do usuário.
+     *
+     * @param token      token de id do user.
+     * @param orderCmpId id do pedido cmp.
+     */
+    public SseEmitter streamOrderCmpStatus(String token, Long orderCmpId) {
+        if (!orderCmpRepository.existsByOrderCmpIdAndUserUserId(orderCmpId, authUtils.getUserId(token))) {
+            throw new ResourceNotFoundException("Pedido cmp não encontrado.");
+        }
+        return orderStatusStreamService.subscribe(true, orderCmpId, () -> orderCmpRepository.findStatusById(orderCmpId));
     }
 
     /**
      * Faz pedido dos produtos (cmp ou regular) e retorna qrcode pix.
+     * Os pedidos são gravados em uma única transação (itens em batch); a cobrança pix é criada fora dela, para não
+     * manter conexão e locks abertos durante a chamada ao PSP, e vinculada aos pedidos em seguida. Se a cobrança falha
+     * (PSP indisponível, lento ou sem txid) ou não é vinculada, os pedidos são cancelados e o estoque devolvido antes de
+     * propagar o erro. Pedidos que ficarem sem cobrança por falha da própria aplicação são cancelados pela conciliação
+     * (PaymentReconciliationService).
      *
      * @param token        token de id do user.
      * @param orderRequest Pedido do cliente.
@@ -112,88 +196,149 @@ public class OrderService {
         }
         // Identifica se usuário existe pelo token.
         UserEntity user = userService.findUserOrThrowNotFoundException(authUtils.getUserId(token));
-        // Declara var para total dos pedidos cmp e produto.
-        double orderTotal = 0;
+        // PSP fora do ar (circuito aberto): falha antes de gravar pedidos sem cobrança.
+        paymentService.checkAvailable();
 
-        //
-        if (orderRequest.getRequestProduct() != null && !orderRequest.getRequestProduct().isEmpty()) {
-            orderProdTxid = this.totalProducts(user, orderRequest.getRequestProduct());
+        // Grava pedidos de produtos e cmps na mesma transação.
+        OrderAndTxId[] orders = transactionTemplate.execute(status -> {
+            OrderAndTxId products = new OrderAndTxId();
+            OrderAndTxId cmps = new OrderAndTxId();
+            if (orderRequest.getRequestProduct() != null && !orderRequest.getRequestProduct().isEmpty()) {
+                products = this.totalProducts(user, orderRequest.getRequestProduct());
+            }
+            if (orderRequest.getRequestCmp() != null && !orderRequest.getRequestCmp().isEmpty()) {
+                cmps = this.totalCmps(user, orderRequest.getRequestCmp());
+            }
+            return new OrderAndTxId[]{products, cmps};
+        });
+        orderProdTxid = orders[0];
+        orderCmpTxid = orders[1];
+
+        // Total dos pedidos cmp e produto.
+        double orderTotal = 0;
+        if (orderProdTxid.getOrderId() != null) {
             orderTotal += orderProdTxid.getTotalValue();
         }
-
-        if (orderRequest.getRequestCmp() != null && !orderRequest.getRequestCmp().isEmpty()) {
-            orderCmpTxid = this.totalCmps(user, orderRequest.getRequestCmp());
+        if (orderCmpTxid.getOrderId() != null) {
             orderTotal += orderCmpTxid.getTotalValue();
         }
-
         // Adicionando valor do frete ao pedido.
         orderTotal += orderRequest.getShipmentFee();
 
+        Long orderId = orderProdTxid.getOrderId();
+        Long orderCmpId = orderCmpTxid.getOrderId();
         // Retorna qrCode Pix em base64.
-        PixAndTxId pixAndTxId = getPixQrCode(user, orderTotal);
+        PixAndTxId pixAndTxId;
+        try {
+            pixAndTxId = getPixQrCode(user, orderTotal);
+        } catch (RuntimeException e) {
+            cancelOrdersWithoutCharge(orderId, orderCmpId);
+            throw e;
+        }
+        // Vincula txid e endereço de entrega aos pedidos.
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (orderId != null && orderRepository.updatePayment(orderId, pixAndTxId.getTxId(),
+                        orderRequest.getDeliveryAddress()) == 0) {
+                    throw new ConflictException("Pedido cancelado antes da confirmação da cobrança.");
+                }
+                if (orderCmpId != null && orderCmpRepository.updatePayment(orderCmpId, pixAndTxId.getTxId(),
+                        orderRequest.getDeliveryAddress()) == 0) {
+                    throw new ConflictException("Pedido cancelado antes da confirmação da cobrança.");
+                }
+            });
+        } catch (RuntimeException e) {
+            // Cobrança criada mas não vinculada: o cliente não recebe o QrCode, então ela é removida no PSP.
+            cancelOrdersWithoutCharge(orderId, orderCmpId);
+            paymentService.removeCharge(pixAndTxId.getTxId());
+            throw e;
+        }
+        return pixAndTxId.getBase64();
+    }
 
-        if (orderProdTxid.getOrderId() != null) {
-            Order order = findOrderOrThrowBadRequestException(orderProdTxid.getOrderId());
-            order.setTxid(pixAndTxId.getTxId());
-            // set enereço ewntrega.
-            order.setDeliveryAddress(orderRequest.getDeliveryAddress());
-            orderRepository.save(order);
+    /**
+     * Transação de compensação do checkout: cancela os pedidos que ficaram sem cobrança e devolve o estoque.
+     */
+    private void cancelOrdersWithoutCharge(Long orderId, Long orderCmpId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (orderId != null) {
+                cancelOrderWithoutCharge(orderId);
+            }
+            if (orderCmpId != null) {
+                cancelOrderCmpWithoutCharge(orderCmpId);
+            }
+        });
+    }
+
+    /**
+     * Cancela o pedido que não tem cobrança pix vinculada e devolve ao estoque as unidades dos seus produtos. Produtos
+     * esgotados que voltam a ficar disponíveis notificam a lista de espera (após o commit). Deve ser chamado dentro de
+     * uma transação.
+     *
+     * @param orderId id do pedido.
+     * @return true se o pedido foi cancelado, false se já tinha cobrança ou status.
+     */
+    public boolean cancelOrderWithoutCharge(Long orderId) {
+        if (orderRepository.cancelWithoutCharge(orderId) == 0) {
+            return false;
         }
-        if (orderCmpTxid.getOrderId() != null) {
-            OrderCmp orderCmp = orderCmpRepository.findById(orderCmpTxid.getOrderId()).orElseThrow();
-            orderCmp.setTxid(pixAndTxId.getTxId());
-            // Seta endereço de entrega.
-            orderCmp.setDeliveryAddress(orderRequest.getDeliveryAddress());
-            orderCmpRepository.save(orderCmp);
+        List<Long> soldOut = orderRepository.lockSoldOutProducts(orderId);
+        if (orderRepository.restoreStock(orderId) > 0) {
+            soldOut.forEach(productId -> eventPublisher.publishEvent(new ProductRestockedEvent(productId)));
+            eventPublisher.publishEvent(CatalogChangedEvent.products());
         }
+        return true;
+    }
 
-        return pixAndTxId.getBase64();
+    /**
+     * Mesmo que {@link #cancelOrderWithoutCharge} para pedido cmp (sem estoque a devolver).
+     */
+    public boolean cancelOrderCmpWithoutCharge(Long orderCmpId) {
+        return orderCmpRepository.cancelWithoutCharge(orderCmpId) == 1;
     }
 
     public OrderAndTxId totalCmps(UserEntity user, List<RequestCmp> requestCmps) {
-        // Salva dados do cmp antes de fazer pedido.
-        List<ProductCmp> persistedCmps = new ArrayList<>();
-        for (RequestCmp req : requestCmps) {
-            req.setProductCmp(ProductCmpMapper.INSTANCE.cmpToDto(
-                    productCmpService.createProductCmp(req.getProductCmp())));
-        };
         // Itens do pedido cmp para relação com order.
         List<OrderItemCmp> orderItemList = new ArrayList<>();
         double totalValue = 0;
         // Identfica produtos cmp e persiste todos como produtos do pedido do usuário.
         for (RequestCmp reqCmp : requestCmps) {
-            // Identifica cmp no BD.
-            ProductCmp dbCmp = productCmpService.findProductCmpOrThrowNotFoundException(reqCmp.getProductCmp().getId());
+            // Cmp da configuração escolhida (reutilizado se a configuração já existe).
+            ProductCmp dbCmp = productCmpService.createProductCmp(reqCmp.getProductCmp());
             //Cria item do pedido (identificação do cmp, opções e qtde selecionada).
             OrderItemCmp orderItem = new OrderItemCmp();
+            // Item é o dono da relação cmp-orderItem (insere linha em cmp_order_item).
             orderItem.getProductCmps().add(dbCmp);
             orderItem.setSelectedAmountOfCmps(reqCmp.getAmount());
-            // Calcula valor das seleções das opções.
-            double optionsSubtotal = this.calculateOptionsCmpSubtotal(dbCmp);
+            // Opções cobradas e seu valor.
+            List<OrderOptionSnapshot> options = this.snapshotOptionsCmp(dbCmp);
+            double optionsSubtotal = sumPrices(options);
             // Define o subtotal da compra do "item" (valor das opções do cmp * qtde).
             double subtotal = (optionsSubtotal) * reqCmp.getAmount();
             orderItem.setSubtotal(subtotal);
+            // Snapshot do cmp comprado. Descrição e imagem vêm da requisição: o cmp reutilizado guarda as do primeiro
+            // pedido da configuração.
+            orderItem.setProductCmpId(dbCmp.getId());
+            orderItem.setCmpDescription(reqCmp.getProductCmp().getDescription());
+            orderItem.setCmpImg(reqCmp.getProductCmp().getImgUrl());
+            orderItem.setUnitPrice(optionsSubtotal);
+            orderItem.setSelectedOptions(options);
             // Adiciona produto na relação orderItem.
             orderItemList.add(orderItem);
-            // Persiste orderItem.
-            orderItemCmpRepository.save(orderItem);
-            // Faz relacionamento entre produto selecionado e pedido -> cmp-orderItem.
-            dbCmp.getOrderCmps().add(orderItem);
-            //persiste mudanças no produto.
             // Soma ao valor total da compra do usuário.
             totalValue += subtotal;
         }
         // Adiciona todos cmps com respectivos subtotais (orderItems) na tabela de pedidos.
         OrderCmp newOrder = new OrderCmp();
+        orderItemList.forEach(item -> item.setOrderCmp(newOrder));
         newOrder.getOrderCmpItems().addAll(orderItemList);
         newOrder.setTotalPrice(totalValue);
         // Faz set do momento da compra para 'agora'.
         newOrder.setDate(LocalDateTime.now());
         // Setando usuário que realizou a compra.
         newOrder.setUser(user);
+        // Persiste o pedido e, por cascade, seus itens.
         orderCmpRepository.save(newOrder);
-        user.getOrderCmps().add(newOrder);
-        userService.saveUser(user);
         //
         OrderAndTxId completeOrder = new OrderAndTxId();
         completeOrder.setOrderId(newOrder.getOrderCmpId());
@@ -204,29 +349,39 @@ public class OrderService {
     /**
      * Cria pedido de um cliente identificando itens selecionados e quantidades. Determina subtotal de cada item e
      * persiste os itens do pedido e o pedido completo (relação de orderItems contido em order).
-     * Retorna total da compra.
+     * Os produtos do carrinho são carregados em uma única consulta e os itens são persistidos por cascade, em batch.
+     * Deve ser chamado dentro de uma transação (ver makeOrder). Retorna total da compra.
      *
      * @param user            Identificação do usuário.
      * @param requestProducts Dto com os produtos selecionados para compra.
      * @return O total da compra.
      */
-    @Transactional
     public OrderAndTxId totalProducts(UserEntity user, List<RequestProduct> requestProducts) {
         // Itens do pedido para relação com order.
         List<OrderItem> orderItemList = new ArrayList<>();
         double totalValue = 0;
+        // Carrega todos os produtos do carrinho de uma vez.
+        Set<Long> productIds = new HashSet<>();
+        requestProducts.forEach(req -> productIds.add(req.getProduct().getProductId()));
+        Map<Long, Product> dbProducts = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
         // Identfica produtos do carrinho e persiste todos como produtos do pedido do usuário.
         for (RequestProduct reqProduct : requestProducts) {
             // Identifica produto selecionado no BD.
-            Product dbProduct = productService.findProductOrThrowNotFoundException(reqProduct.getProduct().getProductId());
+            Product dbProduct = dbProducts.get(reqProduct.getProduct().getProductId());
+            if (dbProduct == null) {
+                throw new ResourceNotFoundException("Produto não encontrado.");
+            }
             // Identifica se a quantidade de produtos em estoque é suficiente para a compra.
             if (dbProduct.getQuantity() < reqProduct.getAmount()) {
+                stockConflictCounter.increment();
                 throw new ConflictException("Quantidade insuficiente de produtos em estoque para realizar a operação: \nProduto: "
                         + dbProduct.getName() + " Qtde em estoque: " + dbProduct.getQuantity()
                         + " Qtde requisitada na compra: " + reqProduct.getAmount());
             }
             //Cria item do pedido (identificação do produto, opções e qtde selecionada).
             OrderItem orderItem = new OrderItem();
+            // Item é o dono da relação product-orderItem (insere linha em product_order_item).
             orderItem.getProducts().add(dbProduct);
             orderItem.setSelectedAmountOfProducts(reqProduct.getAmount());
             // Subtrai quantidade de produtos adquiridos pelo cliente do estoque.
@@ -235,33 +390,35 @@ public class OrderService {
             if (dbProduct.getQuantity() == 0) {
                 dbProduct.setAvailable(false);
             }
-            // Calcula valor das seleções das opções.
-            double optionsSubtotal = this.calculateOptionsSubtotal(dbProduct);
+            // Opções cobradas e seu valor.
+            List<OrderOptionSnapshot> options = this.snapshotOptions(dbProduct);
+            double unitPrice = dbProduct.getValue() + sumPrices(options);
             // Define o subtotal da compra do "item" (valor do produto + opções * qtde).
-            double subtotal = (dbProduct.getValue() + optionsSubtotal) * reqProduct.getAmount();
+            double subtotal = unitPrice * reqProduct.getAmount();
             orderItem.setSubtotal(subtotal);
+            // Snapshot do produto comprado (nome, preço, imagem e opções do momento da compra).
+            orderItem.setProductId(dbProduct.getProductId());
+            orderItem.setProductName(dbProduct.getName());
+            orderItem.setProductImg(dbProduct.getMainImg());
+            orderItem.setUnitPrice(unitPrice);
+            orderItem.setSelectedOptions(options);
             // Adiciona produto na relação orderItem.
             orderItemList.add(orderItem);
-            // Persiste orderItem.
-            orderItemRepository.save(orderItem);
-            // Faz relacionamento entre produto selecionado e pedido -> product-orderItem.
-            dbProduct.getOrderItems().add(orderItem);
-            //persiste mudanças no produto.
-            productService.saveProduct(dbProduct);
+            // Mudanças de estoque no produto são gravadas no commit (dirty checking).
             // Soma ao valor total da compra do usuário.
             totalValue += subtotal;
         }
         // Adiciona todos Produtos com respectivos subtotais (orderItems) na tabela de pedidos.
         Order newOrder = new Order();
+        orderItemList.forEach(item -> item.setOrder(newOrder));
         newOrder.getOrderItems().addAll(orderItemList);
         newOrder.setTotalPrice(totalValue);
         // Faz set do momento da compra para 'agora'.
         newOrder.setDate(LocalDateTime.now());
         // Setando usuário que realizou a compra.
         newOrder.setUser(user);
+        // Persiste o pedido e, por cascade, seus itens.
         orderRepository.save(newOrder);
-        user.getOrders().add(newOrder);
-        userService.saveUser(user);
         //
         OrderAndTxId completeOrder = new OrderAndTxId();
         completeOrder.setOrderId(newOrder.getOrderId());
@@ -269,36 +426,50 @@ public class OrderService {
         return completeOrder;
     }
 
-    @Transactional
+    /**
+     * Cobrança pix no PSP. Fora de transação: nenhuma conexão do pool fica presa durante a chamada.
+     */
     public PixAndTxId getPixQrCode(UserEntity user, Double total) {
         // Envia Requisição para adquirir pix, retorna qrCode pix do valor total do pedido (cmp e produto).
         return paymentService.paymentsPix(user, total);
     }
 
-    private double calculateOptionsSubtotal(Product product) {
-        double subtotal = 0;
+    /**
+     * Opções cobradas no produto (todas as opções das seções, já carregadas com o produto por fetch EAGER).
+     */
+    private List<OrderOptionSnapshot> snapshotOptions(Product product) {
+        List<OrderOptionSnapshot> options = new ArrayList<>();
         if (product.getSections() != null && !product.getSections().isEmpty()) {
             for (Section section : product.getSections()) {
                 if (section.getOptions() != null && !section.getOptions().isEmpty()) {
                     for (Option option : section.getOptions()) {
-                        subtotal += optionRepository.findById(option.getOptionId()).get().getPrice();
+                        options.add(new OrderOptionSnapshot(section.getName(), option.getName(), option.getPrice()));
                     }
                 }
             }
         }
-        return subtotal;
+        return options;
     }
 
-    private double calculateOptionsCmpSubtotal(ProductCmp productCmp) {
-        double totalOptionPrice = 0;
-        for (SectionCmp sectionCmp : productCmp.getSectionCmps()) {
-            for (ElementCmp elementCmp : sectionCmp.getElementCmps()) {
-                for (OptionCmp optionCmp : elementCmp.getOptionCmps()) {
-                    totalOptionPrice += optionCmp.getPrice();
-                }
-            }
+    /**
+     * Opções escolhidas na configuração do cmp.
+     */
+    private List<OrderOptionSnapshot> snapshotOptionsCmp(ProductCmp productCmp) {
+        List<OrderOptionSnapshot> options = new ArrayList<>();
+        for (ProductCmpSelection selection : productCmp.getSelections()) {
+            options.add(new OrderOptionSnapshot(
+                    selection.getSectionCmp().getName() + " / " + selection.getElementCmp().getName(),
+                    selection.getOptionCmp().getName(), selection.getOptionCmp().getPrice()));
+        }
+        return options;
+    }
+
+    private static double sumPrices(List<OrderOptionSnapshot> options) {
+        double total = 0;
+        for (OrderOptionSnapshot option : options) {
+            total += option.getPrice();
         }
-        return totalOptionPrice;
+        return total;
     }
 
     @Transactional
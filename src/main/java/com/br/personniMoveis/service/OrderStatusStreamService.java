@@ -0,0 +1,186 @@
+package com.br.personniMoveis.service;
+
+import com.br.personniMoveis.dto.order.OrderStatusDto;
+import com.br.personniMoveis.event.OrderStatusChangedEvent;
+import com.br.personniMoveis.repository.OrderCmpRepository;
+import com.br.personniMoveis.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Streams SSE do status de pagamento dos pedidos. Cada cliente assina o pedido que acabou de fazer e recebe as
+ * transições publicadas (OrderStatusChangedEvent) pela verificação de pagamentos, sem precisar buscar a lista de
+ * pedidos repetidamente. O stream é encerrado quando o pedido chega a um status final.
+ * <p>
+ * Os streams ficam na instância em que o cliente conectou, e a conciliação pode mudar o status em qualquer instância
+ * (o evento só é publicado localmente). Por isso o status dos pedidos com stream aberto também é relido do BD a cada
+ * poll-ms, em uma consulta por tipo de pedido.
+ */
+@Service
+@Lazy(false)
+public class OrderStatusStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusStreamService.class);
+
+    /**
+     * Status após os quais o pedido não muda mais.
+     */
+    private static final Set<String> FINAL_STATUSES = Set.of("CONCLUIDA", "CANCELADO");
+
+    private final Map<String, OrderStream> streams = new ConcurrentHashMap<>();
+    private final OrderRepository orderRepository;
+    private final OrderCmpRepository orderCmpRepository;
+    private final long timeoutMs;
+
+    @Autowired
+    public OrderStatusStreamService(OrderRepository orderRepository, OrderCmpRepository orderCmpRepository,
+                                    @Value("${personni.order-status-stream.timeout-ms:900000}") long timeoutMs) {
+        this.orderRepository = orderRepository;
+        this.orderCmpRepository = orderCmpRepository;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Abre stream do pedido. O status atual é enviado logo após a assinatura (cliente que assina depois da transição
+     * também recebe o resultado); se já é final, o stream é encerrado em seguida.
+     *
+     * @param cmp           se o pedido é cmp.
+     * @param orderId       id do pedido.
+     * @param currentStatus consulta do status atual do pedido (null se ainda não verificado), feita após o registro.
+     */
+    public SseEmitter subscribe(boolean cmp, Long orderId, Supplier<String> currentStatus) {
+        String key = key(cmp, orderId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // Registra antes de enviar o status atual para não perder transição concorrente.
+        streams.compute(key, (k, stream) -> {
+            OrderStream orderStream = stream != null ? stream : new OrderStream(cmp, orderId);
+            orderStream.emitters.add(emitter);
+            return orderStream;
+        });
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(() -> remove(key, emitter));
+        emitter.onError(e -> remove(key, emitter));
+
+        String status = currentStatus.get();
+        if (status != null) {
+            send(emitter, orderId, status);
+        }
+        return emitter;
+    }
+
+    /**
+     * Envia a transição de status aos streams abertos do pedido (mudança feita nesta instância).
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderStream stream = streams.get(key(event.isCmp(), event.getOrderId()));
+        if (stream != null) {
+            publish(stream, event.getStatus());
+        }
+    }
+
+    /**
+     * Relê o status dos pedidos com stream aberto e envia as mudanças ainda não enviadas (inclusive as feitas pela
+     * conciliação em outra instância).
+     */
+    @Scheduled(fixedDelayString = "${personni.order-status-stream.poll-ms:3000}")
+    public void pollOpenStreams() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        List<Long> orderIds = new ArrayList<>();
+        List<Long> orderCmpIds = new ArrayList<>();
+        streams.values().forEach(stream -> (stream.cmp ? orderCmpIds : orderIds).add(stream.orderId));
+        if (!orderIds.isEmpty()) {
+            orderRepository.findStatusesByIds(orderIds).forEach(status -> publish(false, status));
+        }
+        if (!orderCmpIds.isEmpty()) {
+            orderCmpRepository.findStatusesByIds(orderCmpIds).forEach(status -> publish(true, status));
+        }
+    }
+
+    private void publish(boolean cmp, OrderStatusDto status) {
+        OrderStream stream = streams.get(key(cmp, status.getOrderId()));
+        if (stream != null) {
+            publish(stream, status.getStatus());
+        }
+    }
+
+    /**
+     * Envia o status a todos os streams do pedido, se ainda não foi enviado (evento e releitura podem trazer o mesmo).
+     */
+    private void publish(OrderStream stream, String status) {
+        if (status == null) {
+            return;
+        }
+        synchronized (stream) {
+            if (Objects.equals(stream.lastStatus, status)) {
+                return;
+            }
+            stream.lastStatus = status;
+        }
+        stream.emitters.forEach(emitter -> send(emitter, stream.orderId, status));
+    }
+
+    private void send(SseEmitter emitter, Long orderId, String status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("status")
+                    .data(new OrderStatusDto(orderId, status), MediaType.APPLICATION_JSON));
+            if (FINAL_STATUSES.contains(status)) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou stream já encerrado.
+            log.debug("Falha ao enviar status do pedido {}: {}", orderId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(String key, SseEmitter emitter) {
+        streams.computeIfPresent(key, (k, stream) -> {
+            stream.emitters.remove(emitter);
+            return stream.emitters.isEmpty() ? null : stream;
+        });
+    }
+
+    private static String key(boolean cmp, Long orderId) {
+        return (cmp ? "cmp:" : "order:") + orderId;
+    }
+
+    /**
+     * Streams abertos de um pedido e o último status enviado a eles.
+     */
+    private static final class OrderStream {
+
+        private final boolean cmp;
+        private final Long orderId;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private String lastStatus;
+
+        private OrderStream(boolean cmp, Long orderId) {
+            this.cmp = cmp;
+            this.orderId = orderId;
+        }
+    }
+}
@@ -5,6 +5,9 @@ import com.br.personniMoveis.repository.StorePropertiesRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Service
 public class StorePropertiesService {
 
@@ -19,6 +22,17 @@ public class StorePropertiesService {
         return storePropertiesRepository.findById(1L).orElseThrow(() -> new RuntimeException("Erro ao carregar dados da config da loja"));
     }
 
+    /**
+     * Versão das configurações da loja (base do ETag/Last-Modified de GET /store).
+     */
+    public Optional<LocalDateTime> getStoreLastModified() {
+        return storePropertiesRepository.findLastModifiedById(1L);
+    }
+
+    public boolean storeExists() {
+        return storePropertiesRepository.existsById(1L);
+    }
+
     //@Transactional
     public StoreProperties createStore() {
         StoreProperties store = new StoreProperties();
@@ -33,7 +47,7 @@ public class StorePropertiesService {
      */
     public StoreProperties updateStore(StoreProperties sp) {
         // Obtém a instância do repositório ou cria uma nova se não existir
-        StoreProperties store = storePropertiesRepository.findById(sp.getStoreId()).orElse(createStore());
+        StoreProperties store = storePropertiesRepository.findById(sp.getStoreId()).orElseGet(this::createStore);
         store = new StoreProperties(sp);
         if(store.getStoreLogoPath() != null) {
             try {
@@ -1,6 +1,7 @@
 package com.br.personniMoveis.service;
 
 import com.br.personniMoveis.DriveQuickstart;
+import com.br.personniMoveis.exception.ServiceUnavailableException;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
 import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
@@ -9,6 +10,7 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.client.http.FileContent;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
@@ -16,6 +18,19 @@ import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
 import com.google.api.services.drive.model.File;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.FileNotFoundException;
@@ -28,16 +43,50 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Service
+@Lazy(false) // Instancia sempre (inclusive com lazy-initialization): os métodos estáticos usam as proteções abaixo.
 public class UploadDriveService {
 
+    private static final Logger log = LoggerFactory.getLogger(UploadDriveService.class);
+
     private static final String APPLICATION_NAME = "PersonniMoveisWeb";
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
     private static final String TOKENS_DIRECTORY_PATH = ""; // Removido para disponibilização do repositório de forma aberta.
     private static final List<String> SCOPES = Arrays.asList(DriveScopes.DRIVE_FILE, DriveScopes.DRIVE_APPDATA, DriveScopes.DRIVE_METADATA);
     private static final String CREDENTIALS_FILE_PATH = "/credentialsDrive.json";
 
+    /**
+     * Proteções da dependência "drive" (resilience4j.* no application.properties) e timeouts das requisições HTTP.
+     * Métodos do serviço são estáticos, por isso são atribuídas pelo construtor do bean.
+     */
+    private static Bulkhead bulkhead;
+    private static CircuitBreaker circuitBreaker;
+    private static int connectTimeoutMs = 5000;
+    private static int readTimeoutMs = 30000;
+
+    @Autowired
+    public UploadDriveService(BulkheadRegistry bulkheadRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                              @Value("${personni.drive.connect-timeout-ms:5000}") int connectTimeoutMs,
+                              @Value("${personni.drive.read-timeout-ms:30000}") int readTimeoutMs) {
+        UploadDriveService.bulkhead = bulkheadRegistry.bulkhead("drive");
+        UploadDriveService.circuitBreaker = circuitBreakerRegistry.circuitBreaker("drive");
+        UploadDriveService.connectTimeoutMs = connectTimeoutMs;
+        UploadDriveService.readTimeoutMs = readTimeoutMs;
+    }
+
+    /**
+     * Credencial do Drive acrescida dos timeouts de conexão e leitura (o padrão do cliente é 20s cada).
+     */
+    private static HttpRequestInitializer withTimeouts(Credential credential) {
+        return request -> {
+            credential.initialize(request);
+            request.setConnectTimeout(connectTimeoutMs);
+            request.setReadTimeout(readTimeoutMs);
+        };
+    }
+
     private static Credential getCredentials(final NetHttpTransport HTTP_TRANSPORT)
             throws IOException {
         // Load client secrets.
@@ -64,7 +113,7 @@ public class UploadDriveService {
         String folderId = ""; // Removido para disponibilização do repositório de forma aberta.
 
         final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-        Drive service = new Drive.Builder(HTTP_TRANSPORT, JSON_FACTORY, getCredentials(HTTP_TRANSPORT))
+        Drive service = new Drive.Builder(HTTP_TRANSPORT, JSON_FACTORY, withTimeouts(getCredentials(HTTP_TRANSPORT)))
                 .setApplicationName(APPLICATION_NAME)
                 .build();
 
@@ -84,14 +133,12 @@ public class UploadDriveService {
         FileContent mediaContent = new FileContent("image/jpeg", tempFile);
 
         try {
-            File file = service.files().create(fileMetadata, mediaContent)
-                    .setFields("id")
-                    .execute();
-            System.out.println("File ID: " + file.getId());
+            File file = createDriveFile(service, fileMetadata, mediaContent, fileBytes.length, "upload");
+            log.debug("File ID: {}", file.getId());
 
             return "https://docs.google.com/uc?id="+file.getId();
         } catch (GoogleJsonResponseException e) {
-            System.err.println("Unable to upload file: " + e.getDetails());
+            log.error("Unable to upload file: {}", e.getDetails());
             throw e;
         }
 
@@ -108,13 +155,13 @@ public class UploadDriveService {
             } else if (isUrl(imageUrl)) {
                 return imageUrl;
             } else {
-                System.out.println("Invalid Image Data");
+                log.warn("Invalid Image Data");
                 return null;
             }
 
             String folderId = ""; // Removido para disponibilização do repositório de forma aberta.
             final NetHttpTransport HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
-            Drive service = new Drive.Builder(HTTP_TRANSPORT, JSON_FACTORY, getCredentials(HTTP_TRANSPORT))
+            Drive service = new Drive.Builder(HTTP_TRANSPORT, JSON_FACTORY, withTimeouts(getCredentials(HTTP_TRANSPORT)))
                     .setApplicationName(APPLICATION_NAME)
                     .build();
 
@@ -134,16 +181,49 @@ public class UploadDriveService {
 
 
             // Cria um novo arquivo na pasta desejada
-            File file = service.files().create(fileMetadata, mediaContent)
-                    .setFields("id")
-                    .execute();
+            File file = createDriveFile(service, fileMetadata, mediaContent, fileBytes.length, "update");
 
-            System.out.println("New File ID: " + file.getId());
+            log.debug("New File ID: {}", file.getId());
 
             return "https://docs.google.com/uc?id=" + file.getId();
         } catch (IOException e) {
-            System.err.println("Erro ao tentar atualizar o arquivo: " + e.getMessage());
+            log.error("Erro ao tentar atualizar o arquivo: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Envia arquivo ao Drive registrando latência (por operação e resultado) e tamanho em bytes do upload.
+     * Métodos do serviço são estáticos, por isso usa o registry global do micrometer. O upload passa pelo bulkhead e
+     * circuit breaker "drive" (sem retry: criar arquivo não é idempotente).
+     *
+     * @throws ServiceUnavailableException se o Drive está saturado ou com o circuito aberto.
+     */
+    private static File createDriveFile(Drive service, File fileMetadata, FileContent mediaContent,
+                                        int sizeInBytes, String operation) throws IOException {
+        Metrics.summary("personni.drive.upload.bytes", "operation", operation).record(sizeInBytes);
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        String outcome = "success";
+        Callable<File> upload = () -> service.files().create(fileMetadata, mediaContent)
+                .setFields("id")
+                .execute();
+        if (bulkhead != null) {
+            upload = Bulkhead.decorateCallable(bulkhead, CircuitBreaker.decorateCallable(circuitBreaker, upload));
+        }
+        try {
+            return upload.call();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            outcome = "rejected";
+            log.warn("Google Drive indisponível ({}): {}", operation, e.toString());
+            throw new ServiceUnavailableException("Upload de imagens indisponível no momento.");
+        } catch (IOException e) {
+            outcome = "error";
             throw e;
+        } catch (Exception e) {
+            outcome = "error";
+            throw new IOException(e);
+        } finally {
+            sample.stop(Metrics.timer("personni.drive.uploads", "operation", operation, "outcome", outcome));
         }
     }
 
@@ -1,5 +1,6 @@
 package com.br.personniMoveis.service;
 
+import com.br.personniMoveis.dto.AddressGetDto;
 import com.br.personniMoveis.dto.NewPassDto;
 import com.br.personniMoveis.dto.User.UserAdminCreateAccountDto;
 import com.br.personniMoveis.dto.User.UserCreateAccountDto;
@@ -13,7 +14,6 @@ import com.br.personniMoveis.model.user.UserEntity;
 import com.br.personniMoveis.repository.AddressRepository;
 import com.br.personniMoveis.repository.UserRepository;
 import com.br.personniMoveis.utils.AuthUtils;
-import jakarta.mail.MessagingException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.crossstore.ChangeSetPersister;
@@ -68,11 +68,7 @@ public class UserService {
     }
 
     public void changePassword(String userEmail) {
-        try {
-            emailService.changePassword(userEmail, tokenService.generateUpdatePasswordToken(userEmail));
-        } catch (MessagingException e) {
-            throw new RuntimeException(e);
-        }
+        emailService.changePassword(userEmail, tokenService.generateUpdatePasswordToken(userEmail));
     }
 
     public UserEntity createAccount(UserCreateAccountDto data) {
@@ -89,7 +85,7 @@ public class UserService {
     }
 
     @Transactional
-    public ClientAddress createAddress(String token, ClientAddress newAddress) {
+    public AddressGetDto createAddress(String token, ClientAddress newAddress) {
         // Adquire id do usuário via token e recebe endereço como arg.
         Long userId = authUtils.getUserId(token);
         UserEntity user = this.findUserOrThrowNotFoundException(userId);
@@ -99,7 +95,7 @@ public class UserService {
         address.setClientAddress(user);
         // Salva relação.
         userRepository.save(user);
-        return newAddress;
+        return UserEntityMapper.INSTANCE.clientAddressToAddressGetDto(address);
     }
 
     public void updatePassword(NewPassDto newPassDto) {
@@ -109,9 +105,11 @@ public class UserService {
         userRepository.save(user);
     }
 
-    public List<ClientAddress> getAllUserAddresses(String token) {
-        UserEntity user = this.findUserOrThrowNotFoundException(authUtils.getUserId(token));
-        return user.getAddresses();
+    public List<AddressGetDto> getAllUserAddresses(String token) {
+        Long userId = authUtils.getUserId(token);
+        this.findUserOrThrowNotFoundException(userId);
+        return addressRepository.findByClientAddressUserId(userId).stream()
+                .map(UserEntityMapper.INSTANCE::clientAddressToAddressGetDto).toList();
     }
 
     public UserEntity adminCreateAccount(UserAdminCreateAccountDto userAdminCreateAccountDto) {
@@ -133,10 +131,12 @@ public class UserService {
         return userRepository.findByIsRemovedFalse().stream().map(UserEntityMapper.INSTANCE::UserEntityToUserGetDto).toList();
     }
 
-    public ClientAddress getSingleAddress(String token, Long addressId) {
+    public AddressGetDto getSingleAddress(String token, Long addressId) {
         Long userId = authUtils.getUserId(token);
-        UserEntity user = this.findUserOrThrowNotFoundException(userId);
-        return user.getAddressById(addressId);
+        this.findUserOrThrowNotFoundException(userId);
+        return addressRepository.findByAddressIdAndClientAddressUserId(addressId, userId)
+                .map(UserEntityMapper.INSTANCE::clientAddressToAddressGetDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Endereço não encontrado ou não pertence ao usuário."));
     }
 
     @Transactional
@@ -196,6 +196,10 @@ public class UserService {
         return UserEntityMapper.INSTANCE.UserEntityToUserGetInfoDto(user);
     }
 
+    public boolean existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
     public UserEntity findUserOrThrowNotFoundException(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
@@ -0,0 +1,129 @@
+package com.br.personniMoveis.service.analytics;
+
+import com.br.personniMoveis.event.OrderStatusChangedEvent;
+import com.br.personniMoveis.repository.OrderCmpRepository;
+import com.br.personniMoveis.repository.OrderRepository;
+import com.br.personniMoveis.repository.SalesDailyRepository;
+import com.br.personniMoveis.repository.SalesOptionDailyRepository;
+import com.br.personniMoveis.repository.SalesProductDailyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Mantém os agregados de vendas (sales_daily, sales_product_daily, sales_option_daily) incrementalmente: cada pedido
+ * finalizado é somado uma única vez, na mesma transação que grava o analytics_status do pedido. O pedido é agregado
+ * logo após a mudança de status (OrderStatusChangedEvent); o job de delta soma o que faltar (status alterado por outro
+ * caminho, falha no evento, pedidos anteriores aos agregados).
+ * <p>
+ * Os pedidos são travados com FOR UPDATE SKIP LOCKED, então o evento e o job (em qualquer instância) nunca somam o
+ * mesmo pedido duas vezes.
+ */
+@Service
+@Lazy(false)
+public class SalesAggregationService {
+
+    private final OrderRepository orderRepository;
+    private final OrderCmpRepository orderCmpRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesProductDailyRepository salesProductDailyRepository;
+    private final SalesOptionDailyRepository salesOptionDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+
+    @Autowired
+    public SalesAggregationService(OrderRepository orderRepository, OrderCmpRepository orderCmpRepository,
+                                   SalesDailyRepository salesDailyRepository,
+                                   SalesProductDailyRepository salesProductDailyRepository,
+                                   SalesOptionDailyRepository salesOptionDailyRepository,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${personni.analytics.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderCmpRepository = orderCmpRepository;
+        this.salesDailyRepository = salesDailyRepository;
+        this.salesProductDailyRepository = salesProductDailyRepository;
+        this.salesOptionDailyRepository = salesOptionDailyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Pedido finalizado pela conciliação: soma aos agregados após o commit do novo status.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!"CONCLUIDA".equals(event.getStatus()) && !"CANCELADO".equals(event.getStatus())) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (event.isCmp()) {
+                addOrdersCmp(orderCmpRepository.claimAnalyticsPendingById(event.getOrderId()));
+            } else {
+                addOrders(orderRepository.claimAnalyticsPendingById(event.getOrderId()));
+            }
+        });
+    }
+
+    /**
+     * Job de delta: agrega em lotes os pedidos finalizados ainda não contabilizados.
+     */
+    @Scheduled(fixedDelayString = "${personni.analytics.delta-ms:60000}")
+    public void aggregatePending() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int aggregated = aggregateAll(orderRepository::claimAnalyticsPending, this::addOrders)
+                + aggregateAll(orderCmpRepository::claimAnalyticsPending, this::addOrdersCmp);
+        sample.stop(meterRegistry.timer("personni.analytics.delta"));
+        meterRegistry.counter("personni.analytics.orders").increment(aggregated);
+    }
+
+    private int aggregateAll(IntFunction<List<Long>> claim, Consumer<List<Long>> add) {
+        int aggregated = 0;
+        List<Long> batch;
+        do {
+            batch = transactionTemplate.execute(tx -> {
+                List<Long> ids = claim.apply(batchSize);
+                add.accept(ids);
+                return ids;
+            });
+            aggregated += batch.size();
+        } while (batch.size() == batchSize);
+        return aggregated;
+    }
+
+    /**
+     * Soma os pedidos travados aos agregados e marca o status contabilizado (mesma transação).
+     */
+    private void addOrders(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        salesDailyRepository.addOrders(ids);
+        salesProductDailyRepository.addOrders(ids);
+        orderRepository.markAnalyticsRecorded(ids);
+    }
+
+    private void addOrdersCmp(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        salesDailyRepository.addOrdersCmp(ids);
+        salesOptionDailyRepository.addOrdersCmp(ids);
+        orderCmpRepository.markAnalyticsRecorded(ids);
+    }
+}
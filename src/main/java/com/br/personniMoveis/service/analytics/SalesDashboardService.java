@@ -0,0 +1,77 @@
+package com.br.personniMoveis.service.analytics;
+
+import com.br.personniMoveis.dto.analytics.DailySalesDto;
+import com.br.personniMoveis.dto.analytics.SalesDashboardDto;
+import com.br.personniMoveis.exception.BadRequestException;
+import com.br.personniMoveis.repository.SalesDailyRepository;
+import com.br.personniMoveis.repository.SalesOptionDailyRepository;
+import com.br.personniMoveis.repository.SalesProductDailyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Painel de vendas lido somente dos agregados diários (SalesAggregationService): o custo depende da quantidade de dias
+ * do período, não do volume de pedidos.
+ */
+@Service
+public class SalesDashboardService {
+
+    public static final int MAX_TOP_SIZE = 50;
+
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesProductDailyRepository salesProductDailyRepository;
+    private final SalesOptionDailyRepository salesOptionDailyRepository;
+
+    @Autowired
+    public SalesDashboardService(SalesDailyRepository salesDailyRepository,
+                                 SalesProductDailyRepository salesProductDailyRepository,
+                                 SalesOptionDailyRepository salesOptionDailyRepository) {
+        this.salesDailyRepository = salesDailyRepository;
+        this.salesProductDailyRepository = salesProductDailyRepository;
+        this.salesOptionDailyRepository = salesOptionDailyRepository;
+    }
+
+    /**
+     * @param from primeiro dia do período (data do pedido).
+     * @param to   último dia do período (inclusivo).
+     * @param top  quantidade de produtos e de opções mais vendidos.
+     */
+    public SalesDashboardDto getDashboard(LocalDate from, LocalDate to, int top) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Data inicial deve ser anterior ou igual à data final.");
+        }
+        if (top < 1 || top > MAX_TOP_SIZE) {
+            throw new BadRequestException("Quantidade de itens do ranking deve estar entre 1 e " + MAX_TOP_SIZE + ".");
+        }
+        List<DailySalesDto> daily = salesDailyRepository.findDaily(from, to);
+        double revenue = 0;
+        long orders = 0;
+        long units = 0;
+        long pixCharges = 0;
+        long pixPaid = 0;
+        for (DailySalesDto day : daily) {
+            revenue += day.getRevenue() + day.getCmpRevenue();
+            orders += day.getOrders() + day.getCmpOrders();
+            units += day.getUnits() + day.getCmpUnits();
+            pixCharges += day.getPixCharges();
+            pixPaid += day.getPixPaid();
+        }
+        return SalesDashboardDto.builder()
+                .from(from)
+                .to(to)
+                .revenue(revenue)
+                .orders(orders)
+                .units(units)
+                .pixCharges(pixCharges)
+                .pixPaid(pixPaid)
+                .pixConversion(pixCharges == 0 ? null : (double) pixPaid / pixCharges)
+                .daily(daily)
+                .topProducts(salesProductDailyRepository.findTopProducts(from, to, Pageable.ofSize(top)))
+                .topOptions(salesOptionDailyRepository.findTopOptions(from, to, Pageable.ofSize(top)))
+                .build();
+    }
+}
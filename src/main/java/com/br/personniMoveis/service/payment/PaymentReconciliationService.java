@@ -0,0 +1,241 @@
+package com.br.personniMoveis.service.payment;
+
+import com.br.personniMoveis.dto.order.PendingPaymentDto;
+import com.br.personniMoveis.event.OrderStatusChangedEvent;
+import com.br.personniMoveis.repository.OrderCmpRepository;
+import com.br.personniMoveis.repository.OrderRepository;
+import com.br.personniMoveis.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Conciliação dos pagamentos pix dos pedidos, segura com várias instâncias da aplicação. Cada ciclo reivindica lotes
+ * de pedidos com FOR UPDATE SKIP LOCKED e os reserva (lease) até o próximo ciclo: os pedidos pendentes são divididos
+ * entre as instâncias e cada txid é consultado no PSP por uma única instância por ciclo. O lote reivindicado é limitado
+ * ao que o lease cobre no pior caso (lease / duração máxima de uma consulta ao PSP, com timeout e retries), para que o
+ * lease não expire com pedidos do lote ainda por consultar.
+ * <p>
+ * A mudança de status é condicional (só se o status ainda é o lido) e publica o OrderStatusChangedEvent na mesma
+ * transação: o e-mail de status entra no outbox junto da alteração e os streams SSE são notificados após o commit.
+ * <p>
+ * Pedidos que ficaram sem cobrança pix vinculada além do prazo de pagamento (falha entre a gravação do pedido e a
+ * cobrança) são cancelados e têm o estoque devolvido.
+ */
+@Service
+@Lazy(false)
+public class PaymentReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    /**
+     * Prazo para pagamento: cobrança ainda ATIVA depois disso cancela o pedido.
+     */
+    private static final Duration PAYMENT_DEADLINE = Duration.ofMinutes(5);
+    /**
+     * Validade da cobrança pix (expiracao em PaymentService.createPix). Pedidos cancelados continuam sendo consultados
+     * até ela acabar, para registrar pagamentos feitos após o prazo.
+     */
+    private static final Duration CHARGE_EXPIRATION = Duration.ofHours(1);
+
+    private final OrderRepository orderRepository;
+    private final OrderCmpRepository orderCmpRepository;
+    private final PaymentService paymentService;
+    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    /**
+     * Pedidos por reivindicação de consulta ao PSP: batchSize limitado pelo que o lease cobre no pior caso.
+     */
+    private final int claimSize;
+    private final Duration lease;
+    private final Duration pollInterval;
+
+    @Autowired
+    public PaymentReconciliationService(OrderRepository orderRepository, OrderCmpRepository orderCmpRepository,
+                                        PaymentService paymentService, OrderService orderService,
+                                        ApplicationEventPublisher eventPublisher,
+                                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                        @Value("${personni.payment-reconciliation.batch-size:50}") int batchSize,
+                                        @Value("${personni.payment-reconciliation.lease-seconds:300}") long leaseSeconds,
+                                        @Value("${personni.payment-reconciliation.poll-ms:10000}") long pollMs) {
+        this.orderRepository = orderRepository;
+        this.orderCmpRepository = orderCmpRepository;
+        this.paymentService = paymentService;
+        this.orderService = orderService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.pollInterval = Duration.ofMillis(pollMs);
+        Duration maxCheck = paymentService.maxDetailChargeDuration();
+        this.claimSize = (int) Math.max(1, Math.min(batchSize, lease.toMillis() / maxCheck.toMillis()));
+        if (lease.compareTo(maxCheck) < 0) {
+            log.warn("lease-seconds ({}s) menor que a duração máxima de uma consulta ao PSP ({} ms): o lease pode " +
+                    "expirar durante a consulta.", leaseSeconds, maxCheck.toMillis());
+        }
+    }
+
+    /**
+     * Ciclo de conciliação: registra duração e quantidade de pedidos consultados por esta instância.
+     */
+    @Scheduled(fixedDelayString = "${personni.payment-reconciliation.poll-ms:10000}")
+    public void reconcile() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int checkedOrders = reconcileOrders() + reconcileOrdersCmp();
+        int cancelledOrders = cancelWithoutCharge(orderRepository::claimWithoutCharge,
+                orderService::cancelOrderWithoutCharge, false)
+                + cancelWithoutCharge(orderCmpRepository::claimWithoutCharge,
+                orderService::cancelOrderCmpWithoutCharge, true);
+        sample.stop(meterRegistry.timer("personni.payments.poll"));
+        meterRegistry.summary("personni.payments.poll.orders").record(checkedOrders);
+        meterRegistry.counter("personni.payments.cancelled.without-charge").increment(cancelledOrders);
+    }
+
+    /**
+     * Cancela, em lotes, pedidos sem cobrança pix criados antes do prazo de pagamento (estoque devolvido e evento de
+     * status publicados na mesma transação).
+     */
+    private int cancelWithoutCharge(BiFunction<LocalDateTime, Integer, List<Long>> claimQuery, Predicate<Long> cancel,
+                                    boolean cmp) {
+        int cancelled = 0;
+        List<Long> batch;
+        do {
+            batch = transactionTemplate.execute(tx -> {
+                List<Long> ids = claimQuery.apply(LocalDateTime.now().minus(PAYMENT_DEADLINE), batchSize);
+                for (Long id : ids) {
+                    if (cancel.test(id)) {
+                        eventPublisher.publishEvent(cmp ? OrderStatusChangedEvent.orderCmp(id, "CANCELADO")
+                                : OrderStatusChangedEvent.order(id, "CANCELADO"));
+                    }
+                }
+                return ids;
+            });
+            cancelled += batch.size();
+        } while (batch.size() == batchSize);
+        return cancelled;
+    }
+
+    private int reconcileOrders() {
+        int checked = 0;
+        List<PendingPaymentDto> batch;
+        do {
+            batch = claim(orderRepository::claimPendingPayments, orderRepository::leasePaymentCheck);
+            for (PendingPaymentDto order : batch) {
+                String status = nextStatus(order);
+                if (status != null) {
+                    updateStatus(() -> orderRepository.compareAndSetStatus(order.getId(), expected(order), status) == 1,
+                            OrderStatusChangedEvent.order(order.getId(), status));
+                }
+            }
+            release(batch, orderRepository::leasePaymentCheck);
+            checked += batch.size();
+        } while (batch.size() == claimSize);
+        return checked;
+    }
+
+    private int reconcileOrdersCmp() {
+        int checked = 0;
+        List<PendingPaymentDto> batch;
+        do {
+            batch = claim(orderCmpRepository::claimPendingPayments, orderCmpRepository::leasePaymentCheck);
+            for (PendingPaymentDto order : batch) {
+                String status = nextStatus(order);
+                if (status != null) {
+                    updateStatus(() -> orderCmpRepository.compareAndSetStatus(order.getId(), expected(order), status) == 1,
+                            OrderStatusChangedEvent.orderCmp(order.getId(), status));
+                }
+            }
+            release(batch, orderCmpRepository::leasePaymentCheck);
+            checked += batch.size();
+        } while (batch.size() == claimSize);
+        return checked;
+    }
+
+    /**
+     * Reivindica e reserva um lote numa transação curta (as consultas ao PSP ficam fora dela).
+     */
+    private List<PendingPaymentDto> claim(ClaimQuery claimQuery, BiFunction<List<Long>, LocalDateTime, Integer> lease) {
+        return transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingPaymentDto> claimed = claimQuery.claim(now, now.minus(PAYMENT_DEADLINE),
+                    now.minus(CHARGE_EXPIRATION), claimSize);
+            if (!claimed.isEmpty()) {
+                lease.apply(claimed.stream().map(PendingPaymentDto::getId).toList(), now.plus(this.lease));
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Consultados neste ciclo: reservados até o próximo.
+     */
+    private void release(List<PendingPaymentDto> batch, BiFunction<List<Long>, LocalDateTime, Integer> lease) {
+        if (!batch.isEmpty()) {
+            lease.apply(batch.stream().map(PendingPaymentDto::getId).toList(), LocalDateTime.now().plus(pollInterval));
+        }
+    }
+
+    /**
+     * Status do pedido conforme a cobrança no PSP, ou null se não muda (ou não foi possível consultar).
+     */
+    private String nextStatus(PendingPaymentDto order) {
+        String status = paymentService.pixDetailCharge(order.getTxid());
+        if ("ATIVA".equals(status) && Boolean.TRUE.equals(order.getExpired())) {
+            status = "CANCELADO";
+        }
+        // Outros status do PSP (cobrança removida) ou falha na consulta: mantém o pedido como está.
+        if (!"CONCLUIDA".equals(status) && !"ATIVA".equals(status) && !"CANCELADO".equals(status)) {
+            return null;
+        }
+        return status.equals(order.getStatus()) ? null : status;
+    }
+
+    private static String expected(PendingPaymentDto order) {
+        return Objects.requireNonNullElse(order.getStatus(), "");
+    }
+
+    /**
+     * Executa a atualização condicional e publica o evento na mesma transação, somente se o status mudou.
+     */
+    private void updateStatus(CompareAndSet update, OrderStatusChangedEvent event) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (update.apply()) {
+                eventPublisher.publishEvent(event);
+            } else {
+                log.debug("Status do pedido {} (cmp={}) alterado por outra instância.", event.getOrderId(), event.isCmp());
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ClaimQuery {
+        List<PendingPaymentDto> claim(LocalDateTime now, LocalDateTime cancelBefore, LocalDateTime chargeExpiredBefore,
+                                      int batchSize);
+    }
+
+    @FunctionalInterface
+    private interface CompareAndSet {
+        boolean apply();
+    }
+}
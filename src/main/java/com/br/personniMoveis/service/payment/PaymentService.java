@@ -4,17 +4,111 @@ import br.com.gerencianet.gnsdk.Gerencianet;
 import br.com.gerencianet.gnsdk.exceptions.GerencianetException;
 import com.br.personniMoveis.dto.PixAndTxId;
 import com.br.personniMoveis.dto.TxIdAndQrCodeId;
+import com.br.personniMoveis.exception.ServiceUnavailableException;
 import com.br.personniMoveis.model.user.UserEntity;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
 public class PaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Proteções da dependência "gerencianet" (configuradas em resilience4j.* no application.properties): chamadas
+     * simultâneas limitadas, timeout por chamada e circuit breaker que falha rápido enquanto o PSP está lento/fora.
+     * A vaga do bulkhead só é devolvida quando a chamada ao SDK termina, inclusive após o timeout: o bulkhead limita as
+     * chamadas em execução no PSP, não só as que ainda aguardam resposta.
+     */
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    /**
+     * Retry com jitter, somente para consultas idempotentes (pixDetailCharge) e falhas transitórias
+     * (retry-exceptions e {@link PspServerErrorPredicate}).
+     */
+    private final Retry readRetry;
+    /**
+     * Espera máxima entre tentativas do readRetry (wait-duration com o jitter máximo): o RetryConfig só expõe a função
+     * que sorteia a espera.
+     */
+    private final Duration maxReadRetryWait;
+    /**
+     * O SDK é bloqueante e não expõe timeout: a chamada roda neste executor para que possa ser abandonada após o timeout
+     * (continua ocupando sua vaga do bulkhead até terminar).
+     */
+    private final ExecutorService pspExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public PaymentService(MeterRegistry meterRegistry, BulkheadRegistry bulkheadRegistry,
+                          CircuitBreakerRegistry circuitBreakerRegistry, TimeLimiterRegistry timeLimiterRegistry,
+                          RetryRegistry retryRegistry,
+                          @Value("${resilience4j.retry.instances.gerencianet-read.wait-duration:500ms}") Duration readRetryWait,
+                          @Value("${resilience4j.retry.instances.gerencianet-read.randomized-wait-factor:0.5}") double readRetryWaitFactor) {
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = bulkheadRegistry.bulkhead("gerencianet");
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("gerencianet");
+        this.timeLimiter = timeLimiterRegistry.timeLimiter("gerencianet");
+        this.readRetry = retryRegistry.retry("gerencianet-read");
+        this.maxReadRetryWait = Duration.ofMillis((long) Math.ceil(readRetryWait.toMillis() * (1 + readRetryWaitFactor)));
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        pspExecutor.shutdownNow();
+    }
+
+    /**
+     * Falha rápido (503) se o circuito do PSP está aberto, antes de gravar pedidos que não teriam cobrança.
+     */
+    public void checkAvailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) {
+            throw new ServiceUnavailableException("Pagamento pix indisponível no momento.");
+        }
+    }
+
+    /**
+     * Cria cobrança pix e o QrCode do valor informado. Se o QrCode não pode ser gerado por indisponibilidade do PSP, a
+     * cobrança criada é removida antes de propagar o erro.
+     *
+     * @throws ServiceUnavailableException se o PSP está indisponível/lento ou não gerou a cobrança.
+     */
     public PixAndTxId paymentsPix(UserEntity user, Double total) {
         String txId = "";
         Credentials credentials = new Credentials();
@@ -26,7 +120,16 @@ public class PaymentService {
         }
 
         TxIdAndQrCodeId IdQrCode = createPix(options, existingKey, user, total);
-        String base64Image = generateQRCode(options, IdQrCode.getQrcodeId());
+        if (IdQrCode.getTxId() == null) {
+            throw new ServiceUnavailableException("Não foi possível gerar a cobrança pix.");
+        }
+        String base64Image;
+        try {
+            base64Image = generateQRCode(options, IdQrCode.getQrcodeId());
+        } catch (ServiceUnavailableException e) {
+            removeCharge(IdQrCode.getTxId());
+            throw e;
+        }
 
         PixAndTxId code = new PixAndTxId();
         code.setBase64(base64Image);
@@ -34,6 +137,71 @@ public class PaymentService {
         return code;
     }
 
+    /**
+     * Consulta o status da cobrança pix do txid informado (ATIVA, CONCLUIDA, etc). Consulta idempotente, repetida
+     * com espera aleatória (jitter) em falhas transitórias (IO, timeout ou 5xx do PSP).
+     *
+     * @param txid id da transação pix.
+     * @return status da cobrança ou string vazia se não foi possível consultar.
+     */
+    public String pixDetailCharge(String txid) {
+        JSONObject options = createOptions(new Credentials());
+        HashMap<String, String> params = new HashMap<String, String>();
+        params.put("txid", txid);
+
+        try {
+            JSONObject response = Retry.decorateCallable(readRetry, () -> timedCall("pixDetailCharge",
+                    () -> new Gerencianet(options).call("pixDetailCharge", params, new JSONObject()))).call();
+            return response.getString("status");
+        } catch (GerencianetException e) {
+            log.warn("Erro ao consultar cobrança pix {}: {} - {}", txid, e.getError(), e.getErrorDescription());
+        } catch (Exception e) {
+            log.warn("Erro ao consultar cobrança pix {}: {}", txid, e.getMessage());
+        }
+        return "";
+    }
+
+    /**
+     * Duração máxima de {@link #pixDetailCharge}: todas as tentativas aguardando vaga no bulkhead e esgotando o timeout,
+     * mais as esperas do retry entre elas.
+     */
+    public Duration maxDetailChargeDuration() {
+        int attempts = readRetry.getRetryConfig().getMaxAttempts();
+        Duration attempt = bulkhead.getBulkheadConfig().getMaxWaitDuration()
+                .plus(timeLimiter.getTimeLimiterConfig().getTimeoutDuration());
+        return attempt.multipliedBy(attempts).plus(maxReadRetryWait.multipliedBy(attempts - 1L));
+    }
+
+    /**
+     * Remove a cobrança pix do txid informado (status REMOVIDA_PELO_USUARIO_RECEBEDOR), para que não possa mais ser paga.
+     * Usado quando os pedidos da cobrança foram cancelados antes de o cliente receber o QrCode. Falhas são apenas
+     * logadas: a cobrança expira sozinha no PSP (calendario.expiracao).
+     *
+     * @param txid id da transação pix.
+     */
+    public void removeCharge(String txid) {
+        JSONObject options = createOptions(new Credentials());
+        HashMap<String, String> params = new HashMap<String, String>();
+        params.put("txid", txid);
+        JSONObject body = new JSONObject().put("status", "REMOVIDA_PELO_USUARIO_RECEBEDOR");
+        try {
+            timedCall("pixUpdateCharge", () -> new Gerencianet(options).call("pixUpdateCharge", params, body));
+            log.info("Cobrança pix {} removida.", txid);
+        } catch (GerencianetException e) {
+            log.warn("Erro ao remover cobrança pix {}: {} - {}", txid, e.getError(), e.getErrorDescription());
+        } catch (Exception e) {
+            log.warn("Erro ao remover cobrança pix {}: {}", txid, e.getMessage());
+        }
+    }
+
+    /**
+     * Falha rápida do PSP (circuito aberto, sem vaga ou timeout) no fluxo de checkout vira 503 para o cliente.
+     */
+    private ServiceUnavailableException unavailable(String operation, Exception e) {
+        log.warn("API Gerencianet indisponível em {}: {}", operation, e.toString());
+        return new ServiceUnavailableException("Pagamento pix indisponível no momento.");
+    }
+
     private JSONObject createOptions(Credentials credentials) {
         JSONObject options = new JSONObject();
         options.put("client_id", credentials.getClientId());
@@ -43,42 +211,124 @@ public class PaymentService {
         return options;
     }
 
+    private <T> T timedCall(String operation, Callable<T> call) throws Exception {
+        return timedCall(operation, call, null);
+    }
+
+    /**
+     * Executa chamada à API Gerencianet pelo bulkhead, circuit breaker e timeout da dependência "gerencianet",
+     * registrando a latência por operação e resultado (success/error). A vaga do bulkhead é ocupada até a chamada
+     * terminar, mesmo depois de abandonada pelo timeout.
+     *
+     * @param operation    nome da operação na API Gerencianet (ex: pixCreateCharge).
+     * @param call         chamada a ser executada.
+     * @param onLateResult executado com a resposta se a chamada terminar com sucesso depois do timeout (pode ser null).
+     * @return resposta da API.
+     * @throws BulkheadFullException     sem vaga entre as chamadas simultâneas permitidas.
+     * @throws CallNotPermittedException circuito aberto.
+     * @throws TimeoutException          chamada excedeu o timeout.
+     */
+    private <T> T timedCall(String operation, Callable<T> call, Consumer<T> onLateResult) throws Exception {
+        bulkhead.acquirePermission();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Devolve a vaga quando a chamada termina (ou quando não chega a ser executada).
+        result.whenComplete((response, error) -> bulkhead.onComplete());
+        Callable<T> limited = () -> {
+            pspExecutor.execute(() -> {
+                try {
+                    result.complete(recordLatency(operation, call));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            try {
+                T response = result.get(timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis(),
+                        TimeUnit.MILLISECONDS);
+                timeLimiter.onSuccess();
+                return response;
+            } catch (TimeoutException e) {
+                timeLimiter.onError(e);
+                if (onLateResult != null) {
+                    result.thenAcceptAsync(onLateResult, pspExecutor);
+                }
+                throw e;
+            } catch (ExecutionException e) {
+                timeLimiter.onError(e.getCause());
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        };
+        try {
+            return CircuitBreaker.decorateCallable(circuitBreaker, limited).call();
+        } catch (CallNotPermittedException | RejectedExecutionException e) {
+            // Chamada não executada.
+            result.cancel(false);
+            throw e;
+        }
+    }
+
+    private <T> T recordLatency(String operation, Callable<T> call) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.call();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("personni.psp.calls")
+                    .description("Latência das chamadas à API Gerencianet")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
     private String getOrCreatePixKey(JSONObject options) {
         try {
-            Gerencianet gn = new Gerencianet(options);
-            JSONObject response = gn.call("pixListEvp", new HashMap<String, String>(), new JSONObject());
+            JSONObject response = timedCall("pixListEvp",
+                    () -> new Gerencianet(options).call("pixListEvp", new HashMap<String, String>(), new JSONObject()));
             JSONArray chaves = response.getJSONArray("chaves");
             if (chaves.length() > 0) {
                 return chaves.getString(0);
             }
+        } catch (CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+            throw unavailable("pixListEvp", e);
         } catch (GerencianetException e) {
-            System.out.println(e.getError());
-            System.out.println(e.getErrorDescription());
+            log.warn("Erro ao listar chaves pix: {} - {}", e.getError(), e.getErrorDescription());
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            log.warn("Erro ao listar chaves pix: {}", e.getMessage());
         }
         return null;
     }
 
     private String createPixKey(JSONObject options) {
         try {
-            Gerencianet gn = new Gerencianet(options);
-            JSONObject response = gn.call("pixCreateEvp", new HashMap<String, String>(), new JSONObject());
+            JSONObject response = timedCall("pixCreateEvp",
+                    () -> new Gerencianet(options).call("pixCreateEvp", new HashMap<String, String>(), new JSONObject()));
             JSONArray chaves = response.getJSONArray("chaves");
             if (chaves.length() > 0) {
                 return chaves.getString(0);
             }
+        } catch (CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+            throw unavailable("pixCreateEvp", e);
         } catch (GerencianetException e) {
-            System.out.println(e.getError());
-            System.out.println(e.getErrorDescription());
+            log.warn("Erro ao criar chave pix: {} - {}", e.getError(), e.getErrorDescription());
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            log.warn("Erro ao criar chave pix: {}", e.getMessage());
         }
         return null;
     }
 
+    /**
+     * Cria a cobrança com txid gerado aqui (pixCreateCharge, PUT /v2/cob/:txid): mesmo se a chamada exceder o timeout,
+     * o txid é conhecido e a cobrança que o PSP ainda criar é removida assim que a chamada terminar.
+     */
     private TxIdAndQrCodeId createPix(JSONObject options, String existingKey, UserEntity user, Double valor) {
         TxIdAndQrCodeId txId = new TxIdAndQrCodeId();
+        // txid pix: 26 a 35 caracteres alfanuméricos.
+        String newTxId = UUID.randomUUID().toString().replace("-", "");
+        HashMap<String, String> params = new HashMap<String, String>();
+        params.put("txid", newTxId);
         JSONObject body = new JSONObject();
         body.put("calendario", new JSONObject().put("expiracao", 3600));
         body.put("devedor", new JSONObject().put("cpf", user.getCpf()).put("nome", user.getName()));
@@ -94,18 +344,20 @@ public class PaymentService {
         body.put("infoAdicionais", infoAdicionais);
 
         try {
-            Gerencianet gn = new Gerencianet(options);
-            JSONObject response = gn.call("pixCreateImmediateCharge", new HashMap<String, String>(), body);
+            JSONObject response = timedCall("pixCreateCharge",
+                    () -> new Gerencianet(options).call("pixCreateCharge", params, body),
+                    late -> removeCharge(newTxId));
 
-            txId.setTxId(response.getString("txid"));
+            txId.setTxId(newTxId);
             txId.setQrcodeId(response.getJSONObject("loc").getInt("id"));
 
 
+        } catch (CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+            throw unavailable("pixCreateCharge", e);
         } catch (GerencianetException e) {
-            System.out.println(e.getError());
-            System.out.println(e.getErrorDescription());
+            log.warn("Erro ao criar cobrança pix: {} - {}", e.getError(), e.getErrorDescription());
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            log.warn("Erro ao criar cobrança pix: {}", e.getMessage());
         }
         return txId;
     }
@@ -116,18 +368,19 @@ public class PaymentService {
             params.put("id", String.valueOf(IdQrCode));
 
             try {
-                Gerencianet gn = new Gerencianet(options);
-                Map<String, Object> response = gn.call("pixGenerateQRCode", params, new HashMap<String, Object>());
+                Map<String, Object> response = timedCall("pixGenerateQRCode",
+                        () -> new Gerencianet(options).call("pixGenerateQRCode", params, new HashMap<String, Object>()));
 
                 String base64Image = (String) response.get("imagemQrcode");
 
                 return base64Image;
+            } catch (CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+                throw unavailable("pixGenerateQRCode", e);
             } catch (GerencianetException e) {
-                System.out.println(e.getError());
-                System.out.println(e.getErrorDescription());
+                log.warn("Erro ao gerar QrCode pix: {} - {}", e.getError(), e.getErrorDescription());
                 return "Erro ao criar QrCode: " + e.getErrorDescription();
             } catch (Exception e) {
-                System.out.println(e.getMessage());
+                log.warn("Erro ao gerar QrCode pix: {}", e.getMessage());
                 return "Erro ao criar QrCode: " + e.getMessage();
             }
         }
@@ -0,0 +1,17 @@
+package com.br.personniMoveis.service.payment;
+
+import br.com.gerencianet.gnsdk.exceptions.GerencianetException;
+
+import java.util.function.Predicate;
+
+/**
+ * Erro do PSP que vale repetir: resposta 5xx (campo code do corpo de erro). Erros de negócio e 4xx (txid inexistente,
+ * validação) não mudam numa nova tentativa. Usado em resilience4j.retry.instances.gerencianet-read.
+ */
+public class PspServerErrorPredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return throwable instanceof GerencianetException e && e.getCode() >= 500;
+    }
+}
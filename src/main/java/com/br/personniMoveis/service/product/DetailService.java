@@ -7,6 +7,7 @@ import com.br.personniMoveis.model.product.Detail;
 import com.br.personniMoveis.repository.DetailRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -25,6 +26,7 @@ public class DetailService {
                 () -> new ResourceNotFoundException("Detalhe do produto não existe"));
     }
 
+    @Transactional(readOnly = true)
     public List<DetailDto> getAllDetails() {
         return detailRepository.findAll().stream()
                 .map(DetailMapper.INSTANCE::detailToDetailGetDto).toList();
@@ -1,44 +1,66 @@
 package com.br.personniMoveis.service.product;
 
+import com.br.personniMoveis.config.CacheConfig;
+import com.br.personniMoveis.dto.product.MaterialDto;
 import com.br.personniMoveis.exception.ResourceNotFoundException;
 import com.br.personniMoveis.model.product.Material;
 import com.br.personniMoveis.repository.MaterialRepository;
+import com.br.personniMoveis.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class MaterialService {
 
     private final MaterialRepository materialRepository;
+    private final ProductRepository productRepository;
 
     @Autowired
-    public MaterialService(MaterialRepository materialRepository) {
+    public MaterialService(MaterialRepository materialRepository, ProductRepository productRepository) {
         this.materialRepository = materialRepository;
+        this.productRepository = productRepository;
     }
 
     public Material findMaterialByIdOrThrowNotFoundException(Long materialId) {
         return materialRepository.findById(materialId).orElseThrow(() -> new ResourceNotFoundException("Material not found"));
     }
 
-    public List<Material> getAllMaterials() {
-        return materialRepository.findAll();
+    /**
+     * Lista de materiais em cache: dtos em lista imutável, não entidades (o cache é compartilhado entre as chamadas).
+     */
+    @Cacheable(cacheNames = CacheConfig.MATERIALS, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<MaterialDto> getAllMaterials() {
+        return List.copyOf(materialRepository.findAllMaterials());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MATERIALS, allEntries = true)
     public Material saveMaterial(Material material) {
         return materialRepository.save(material);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MATERIALS, allEntries = true)
+    @Transactional
     public Material updateMaterial(Long materialId, Material material) {
         Material updatedMaterial = findMaterialByIdOrThrowNotFoundException(materialId);
         updatedMaterial.setMaterialId(materialId);
         updatedMaterial = this.saveMaterial(material);
+        // Material aparece nas leituras dos produtos que o possuem.
+        productRepository.touchProductsWithMaterial(materialId, LocalDateTime.now());
         return updatedMaterial;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MATERIALS, allEntries = true)
+    @Transactional
     public void deleteMaterial(Long materialId) {
         findMaterialByIdOrThrowNotFoundException(materialId);
+        productRepository.touchProductsWithMaterial(materialId, LocalDateTime.now());
         materialRepository.deleteById(materialId);
     }
 }
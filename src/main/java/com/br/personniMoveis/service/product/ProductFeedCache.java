@@ -0,0 +1,112 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import com.br.personniMoveis.repository.ProductRepository;
+import com.br.personniMoveis.repository.TagRepository;
+import com.br.personniMoveis.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache dos feeds de vitrine (produtos mais recentes e produtos por tag) como projeções ProductGetDto.
+ * As listas são recalculadas em background: periodicamente e após commit de alterações no catálogo
+ * (CatalogChangedEvent). Leituras nunca consultam o banco, exceto no primeiro acesso a uma tag.
+ */
+@Component
+@Lazy(false)
+public class ProductFeedCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFeedCache.class);
+
+    private final ProductRepository productRepository;
+    private final TagRepository tagRepository;
+    private final int mostRecentSize;
+
+    private volatile List<ProductGetDto> mostRecent;
+    private final Map<Long, List<ProductGetDto>> byTag = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductFeedCache(ProductRepository productRepository, TagRepository tagRepository,
+                            @Value("${personni.feed-cache.most-recent-size:24}") int mostRecentSize) {
+        this.productRepository = productRepository;
+        this.tagRepository = tagRepository;
+        this.mostRecentSize = mostRecentSize;
+    }
+
+    /**
+     * Produtos mais recentes. Pedidos acima do tamanho do cache consultam o banco diretamente.
+     */
+    public List<ProductGetDto> getMostRecent(int amountOfProducts) {
+        if (amountOfProducts > mostRecentSize) {
+            return productRepository.findMostRecentProductGetDtos(amountOfProducts);
+        }
+        List<ProductGetDto> feed = mostRecent;
+        if (feed == null) {
+            feed = refreshMostRecent();
+        }
+        return feed.subList(0, Math.min(amountOfProducts, feed.size()));
+    }
+
+    /**
+     * Produtos que possuem a tag. No primeiro acesso valida a tag e carrega o feed.
+     */
+    public List<ProductGetDto> getByTag(Long tagId) {
+        List<ProductGetDto> feed = byTag.get(tagId);
+        if (feed != null) {
+            return feed;
+        }
+        if (!tagRepository.existsById(tagId)) {
+            throw new ResourceNotFoundException("Tag não encontrada.");
+        }
+        return byTag.computeIfAbsent(tagId, id -> List.copyOf(productRepository.findProductsInTag(id)));
+    }
+
+    /**
+     * Recalcula todos os feeds em cache periodicamente (absorve alterações de estoque feitas por pedidos).
+     */
+    @Scheduled(fixedDelayString = "${personni.feed-cache.refresh-ms:60000}",
+            initialDelayString = "${personni.feed-cache.refresh-ms:60000}")
+    public void refreshAll() {
+        refreshMostRecent();
+        byTag.keySet().forEach(this::refreshTag);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getTagId() != null && event.isTagRemoved()) {
+            byTag.remove(event.getTagId());
+            refreshMostRecent();
+        } else if (event.getTagId() != null) {
+            refreshTag(event.getTagId());
+        } else {
+            refreshAll();
+        }
+    }
+
+    private List<ProductGetDto> refreshMostRecent() {
+        List<ProductGetDto> feed = List.copyOf(productRepository.findMostRecentProductGetDtos(mostRecentSize));
+        mostRecent = feed;
+        return feed;
+    }
+
+    private void refreshTag(Long tagId) {
+        try {
+            byTag.put(tagId, List.copyOf(productRepository.findProductsInTag(tagId)));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar feed da tag {}: {}", tagId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.config.CacheConfig;
+import com.br.personniMoveis.dto.product.ProductImportResultDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import com.br.personniMoveis.model.product.Detail;
+import com.br.personniMoveis.model.product.Option;
+import com.br.personniMoveis.model.product.Product;
+import com.br.personniMoveis.model.product.Section;
+import com.br.personniMoveis.model.product.Tag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em lote do catálogo a partir de JSON Lines (um produto por linha, mesmo formato do payload de
+ * /products/save-full-product, com categoryId no próprio produto). As linhas são lidas em streaming e persistidas em
+ * lotes via JDBC batch (produtos, detalhes, seções, opções e tags), um lote por transação.
+ * Cada linha é validada por completo (inclusive restrições das colunas) antes de entrar num lote; linhas inválidas são
+ * rejeitadas e reportadas com seu número. Se mesmo assim um lote falha no BD, só ele é desfeito: a importação continua
+ * e o resultado informa as linhas do lote que não foram gravadas.
+ * Ids são reservados em blocos nas sequências do Hibernate seguindo o otimizador pooled-lo (cada nextval reserva
+ * [valor, valor + incremento)), portanto não colidem com ids gerados pela aplicação.
+ */
+@Service
+public class ProductImportService {
+
+    /**
+     * Incremento das sequências (allocationSize do Hibernate, ver db/migration/V1__baseline_schema.sql).
+     */
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    /**
+     * Tamanho das colunas de texto (db/migration/V1__baseline_schema.sql).
+     */
+    private static final int TEXT_LENGTH = 255;
+    private static final int LONG_TEXT_LENGTH = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    private final int batchSize;
+
+    @Autowired
+    public ProductImportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                                CacheManager cacheManager,
+                                @Value("${personni.product-import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa produtos de um stream JSON Lines. Linhas inválidas são rejeitadas e lotes recusados pelo BD são
+     * descartados sem interromper a importação.
+     *
+     * @param input stream com um produto JSON por linha.
+     * @return contagem de importados (gravados), rejeitados e não gravados, com os primeiros erros encontrados.
+     */
+    public ProductImportResultDto importJsonLines(InputStream input) throws IOException {
+        ProductImportResultDto result = new ProductImportResultDto();
+        Set<Long> categoryIds = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM category", Long.class));
+        Map<String, Long> tagIdsByName = new HashMap<>();
+        jdbcTemplate.query("SELECT tag_id, tag_name FROM tag",
+                rs -> {
+                    tagIdsByName.put(normalizeTagName(rs.getString("tag_name")), rs.getLong("tag_id"));
+                });
+
+        List<Product> batch = new ArrayList<>(batchSize);
+        long firstLine = 0;
+        long lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Product product = objectMapper.readValue(line, Product.class);
+                    validate(product, categoryIds);
+                    if (batch.isEmpty()) {
+                        firstLine = lineNumber;
+                    }
+                    batch.add(product);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    reject(result, lineNumber, e.getMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    write(result, batch, tagIdsByName, firstLine, lineNumber);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(result, batch, tagIdsByName, firstLine, lineNumber);
+        }
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.products());
+        }
+        return result;
+    }
+
+    /**
+     * Valida tudo o que será gravado da linha: campos obrigatórios, tamanho das colunas e categoria existente.
+     */
+    private void validate(Product product, Set<Long> categoryIds) {
+        if (product.getValue() == null || product.getQuantity() == null) {
+            throw new IllegalArgumentException("Produto deve ter nome, valor e quantidade.");
+        }
+        checkText(product.getName(), TEXT_LENGTH, true, "Nome do produto");
+        checkText(product.getDescription(), LONG_TEXT_LENGTH, false, "Descrição do produto");
+        checkImageUrl(product.getMainImg(), "Imagem principal");
+        if (product.getCategoryId() == null || !categoryIds.contains(product.getCategoryId())) {
+            throw new IllegalArgumentException("Categoria inexistente: " + product.getCategoryId());
+        }
+        if (product.getDetails() != null) {
+            for (Detail detail : product.getDetails()) {
+                if (detail == null) {
+                    throw new IllegalArgumentException("Detalhe vazio.");
+                }
+                checkText(detail.getDetailField(), TEXT_LENGTH, false, "Campo do detalhe");
+                checkText(detail.getFieldContent(), TEXT_LENGTH, false, "Conteúdo do detalhe");
+            }
+        }
+        if (product.getSections() != null) {
+            for (Section section : product.getSections()) {
+                if (section == null) {
+                    throw new IllegalArgumentException("Seção vazia.");
+                }
+                checkText(section.getName(), TEXT_LENGTH, true, "Nome da seção");
+                if (section.getOptions() != null) {
+                    for (Option option : section.getOptions()) {
+                        if (option == null) {
+                            throw new IllegalArgumentException("Opção vazia na seção " + section.getName() + ".");
+                        }
+                        checkText(option.getName(), TEXT_LENGTH, true, "Nome da opção");
+                        checkText(option.getDescription(), TEXT_LENGTH, false, "Descrição da opção");
+                        checkImageUrl(option.getMainImg(), "Imagem da opção");
+                    }
+                }
+            }
+        }
+        if (product.getTags() != null) {
+            for (Tag tag : product.getTags()) {
+                checkText(tag == null ? null : tag.getTagName(), TEXT_LENGTH, true, "Nome da tag");
+            }
+        }
+    }
+
+    private static void checkText(String value, int maxLength, boolean required, String field) {
+        if (required && (value == null || value.isBlank())) {
+            throw new IllegalArgumentException(field + " é obrigatório.");
+        }
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " excede " + maxLength + " caracteres.");
+        }
+    }
+
+    private static void checkImageUrl(String value, String field) {
+        // Importação não faz upload de imagens, somente aceita URLs.
+        if (value != null && value.startsWith("data:")) {
+            throw new IllegalArgumentException(field + " deve ser uma URL.");
+        }
+        checkText(value, LONG_TEXT_LENGTH, false, field);
+    }
+
+    private void reject(ProductImportResultDto result, long lineNumber, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("Linha " + lineNumber + ": " + message);
+        }
+    }
+
+    /**
+     * Grava o lote e contabiliza o resultado. Falha do BD descarta só este lote, reportado pelas suas linhas.
+     */
+    private void write(ProductImportResultDto result, List<Product> batch, Map<String, Long> tagIdsByName,
+                       long firstLine, long lastLine) {
+        try {
+            // Tags criadas só passam a valer para os próximos lotes depois do commit.
+            Map<String, Long> newTagIds = flush(batch, tagIdsByName);
+            tagIdsByName.putAll(newTagIds);
+            if (!newTagIds.isEmpty()) {
+                // Tags gravadas via JDBC, fora do TagService: a lista em cache não as tem.
+                cacheManager.getCache(CacheConfig.TAGS).clear();
+            }
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Lote da importação (linhas {}-{}) não foi gravado.", firstLine, lastLine, e);
+            result.setFailed(result.getFailed() + batch.size());
+            if (result.getBatchErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getBatchErrors().add("Linhas " + firstLine + "-" + lastLine + ": " + batch.size()
+                        + " produtos não gravados (" + rootMessage(e) + ")");
+            }
+        }
+    }
+
+    private static String rootMessage(Exception e) {
+        return e instanceof DataAccessException dataAccessException
+                ? dataAccessException.getMostSpecificCause().getMessage() : e.getMessage();
+    }
+
+    /**
+     * Persiste o lote em uma transação: reserva ids em bloco e insere cada tabela com um único batch JDBC.
+     *
+     * @return tags criadas pelo lote (nome normalizado -> id).
+     */
+    private Map<String, Long> flush(List<Product> products, Map<String, Long> tagIdsByName) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Long> newTagIds = new HashMap<>();
+            List<Object[]> productRows = new ArrayList<>();
+            List<Object[]> detailRows = new ArrayList<>();
+            List<Object[]> sectionRows = new ArrayList<>();
+            List<Object[]> optionRows = new ArrayList<>();
+            List<Object[]> productTagRows = new ArrayList<>();
+            List<Object[]> newTagRows = new ArrayList<>();
+
+            IdBlock productIds = allocate("product_seq", products.size());
+            IdBlock detailIds = allocate("detail_seq", count(products, Counter.DETAILS));
+            IdBlock sectionIds = allocate("section_seq", count(products, Counter.SECTIONS));
+            IdBlock optionIds = allocate("option_seq", count(products, Counter.OPTIONS));
+            IdBlock tagIds = allocate("tag_seq", countNewTags(products, tagIdsByName));
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            for (Product product : products) {
+                long productId = productIds.next();
+                boolean available = (product.getAvailable() == null || product.getAvailable()) && product.getQuantity() > 0;
+                productRows.add(new Object[]{productId, product.getName(), product.getValue(), product.getQuantity(),
+                        Boolean.TRUE.equals(product.getEditable()), product.getMainImg(), product.getDescription(),
+                        now, available, product.getCategoryId(), product.getCategoryId()});
+                if (product.getDetails() != null) {
+                    for (Detail detail : product.getDetails()) {
+                        detailRows.add(new Object[]{detailIds.next(), detail.getDetailField(), detail.getFieldContent(), productId});
+                    }
+                }
+                if (product.getSections() != null) {
+                    for (Section section : product.getSections()) {
+                        long sectionId = sectionIds.next();
+                        sectionRows.add(new Object[]{sectionId, section.getName(), productId});
+                        if (section.getOptions() != null) {
+                            for (Option option : section.getOptions()) {
+                                optionRows.add(new Object[]{optionIds.next(), option.getName(), option.getMainImg(),
+                                        option.getDescription(), option.getPrice(), sectionId});
+                            }
+                        }
+                    }
+                }
+                if (product.getTags() != null) {
+                    Set<Long> productTagIds = new HashSet<>();
+                    for (Tag tag : product.getTags()) {
+                        String tagName = normalizeTagName(tag.getTagName());
+                        Long tagId = tagIdsByName.getOrDefault(tagName, newTagIds.get(tagName));
+                        if (tagId == null) {
+                            tagId = tagIds.next();
+                            newTagIds.put(tagName, tagId);
+                            newTagRows.add(new Object[]{tagId, tag.getTagName().trim()});
+                        }
+                        if (productTagIds.add(tagId)) {
+                            productTagRows.add(new Object[]{productId, tagId});
+                        }
+                    }
+                }
+            }
+
+            jdbcTemplate.batchUpdate("INSERT INTO tag (tag_id, tag_name) VALUES (?, ?)", newTagRows);
+            jdbcTemplate.batchUpdate("INSERT INTO product (product_id, name, value, quantity, editable, main_img, " +
+                    "description, dt_created, available, is_removed, category_id, id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)", productRows);
+            jdbcTemplate.batchUpdate("INSERT INTO detail (detail_id, detail_field, field_content, product_id) " +
+                    "VALUES (?, ?, ?, ?)", detailRows);
+            jdbcTemplate.batchUpdate("INSERT INTO section (section_id, name, product_id) VALUES (?, ?, ?)", sectionRows);
+            jdbcTemplate.batchUpdate("INSERT INTO option (option_id, name, main_img, description, price, section_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", optionRows);
+            jdbcTemplate.batchUpdate("INSERT INTO product_tag (product_id, tag_id) VALUES (?, ?)", productTagRows);
+            return newTagIds;
+        });
+    }
+
+    /**
+     * Reserva ao menos "amount" ids da sequência informada (um nextval a cada SEQUENCE_INCREMENT ids).
+     */
+    private IdBlock allocate(String sequence, int amount) {
+        if (amount == 0) {
+            return new IdBlock(List.of());
+        }
+        int calls = (amount + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+        return new IdBlock(jdbcTemplate.queryForList(
+                "SELECT nextval(?::regclass) FROM generate_series(1, ?)", Long.class, sequence, calls));
+    }
+
+    private enum Counter { DETAILS, SECTIONS, OPTIONS }
+
+    private int count(List<Product> products, Counter counter) {
+        int total = 0;
+        for (Product product : products) {
+            switch (counter) {
+                case DETAILS -> total += product.getDetails() == null ? 0 : product.getDetails().size();
+                case SECTIONS -> total += product.getSections() == null ? 0 : product.getSections().size();
+                case OPTIONS -> {
+                    if (product.getSections() != null) {
+                        for (Section section : product.getSections()) {
+                            total += section.getOptions() == null ? 0 : section.getOptions().size();
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private int countNewTags(List<Product> products, Map<String, Long> tagIdsByName) {
+        Set<String> newTags = new HashSet<>();
+        for (Product product : products) {
+            if (product.getTags() != null) {
+                for (Tag tag : product.getTags()) {
+                    String tagName = normalizeTagName(tag.getTagName());
+                    if (!tagIdsByName.containsKey(tagName)) {
+                        newTags.add(tagName);
+                    }
+                }
+            }
+        }
+        return newTags.size();
+    }
+
+    private static String normalizeTagName(String tagName) {
+        return tagName == null ? "" : tagName.trim().toLowerCase();
+    }
+
+    /**
+     * Blocos de ids reservados: cada valor da sequência v disponibiliza os ids [v, v + SEQUENCE_INCREMENT).
+     */
+    private static final class IdBlock {
+        private final List<Long> starts;
+        private int block;
+        private int offset;
+
+        private IdBlock(List<Long> starts) {
+            this.starts = starts;
+        }
+
+        private long next() {
+            if (offset == SEQUENCE_INCREMENT) {
+                block++;
+                offset = 0;
+            }
+            return starts.get(block) + offset++;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.dto.product.FacetCountDto;
+import com.br.personniMoveis.dto.product.ProductFacetsDto;
+import com.br.personniMoveis.dto.product.ProductSearchFilterDto;
+import com.br.personniMoveis.dto.product.ProductSearchResultDto;
+import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.exception.BadRequestException;
+import com.br.personniMoveis.model.product.Product;
+import com.br.personniMoveis.repository.specification.ProductSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Busca de produtos do catálogo: texto livre (search_vector + índice GIN), filtros, paginação e facetas.
+ * A página é uma projeção em ProductGetDto (sem carregar entidades nem suas coleções) filtrada pelas Specifications; as
+ * facetas são agregações (GROUP BY) no banco sobre o mesmo conjunto filtrado.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ProductSearchService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Busca produtos vigentes.
+     *
+     * @param filter filtros opcionais da busca.
+     * @param page   página (a partir de 0).
+     * @param size   itens por página (máximo 100).
+     * @param sort   relevance (padrão), price_asc, price_desc ou newest.
+     * @return Página de produtos e facetas do conjunto filtrado.
+     */
+    @Transactional(readOnly = true)
+    public ProductSearchResultDto search(ProductSearchFilterDto filter, int page, int size, String sort) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Página deve ser >= 0 e tamanho >= 1.");
+        }
+        Specification<Product> spec = toSpecification(filter);
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), toSort(sort, hasText(filter)));
+        Page<ProductGetDto> products = findPage(spec, pageRequest);
+        return new ProductSearchResultDto(products.getContent(), products.getNumber(), products.getSize(),
+                products.getTotalElements(), products.getTotalPages(), facets(spec));
+    }
+
+    /**
+     * Página da projeção ProductGetDto com a ordenação informada (sem ordenação, a da Specification de texto). A
+     * contagem só é consultada quando a página não basta para determinar o total.
+     */
+    private Page<ProductGetDto> findPage(Specification<Product> spec, PageRequest pageRequest) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductGetDto> query = cb.createQuery(ProductGetDto.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductGetDto.class, root.get("productId"), root.get("name"), root.get("value"),
+                        root.get("quantity"), root.get("editable"), root.get("mainImg"), root.get("description")))
+                .where(spec.toPredicate(root, query, cb));
+        if (pageRequest.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageRequest.getSort(), root, cb));
+        }
+        List<ProductGetDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageRequest, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Product> countRoot = count.from(Product.class);
+            count.select(cb.count(countRoot)).where(spec.toPredicate(countRoot, count, cb));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private Specification<Product> toSpecification(ProductSearchFilterDto filter) {
+        Specification<Product> spec = Specification.where(ProductSpecifications.notRemoved());
+        if (hasText(filter)) {
+            spec = spec.and(ProductSpecifications.matchesText(filter.getQ().trim()));
+        }
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(ProductSpecifications.inCategory(filter.getCategoryId()));
+        }
+        if (filter.getTagIds() != null && !filter.getTagIds().isEmpty()) {
+            spec = spec.and(ProductSpecifications.hasAnyTag(filter.getTagIds()));
+        }
+        if (filter.getMaterialIds() != null && !filter.getMaterialIds().isEmpty()) {
+            spec = spec.and(ProductSpecifications.hasAnyMaterial(filter.getMaterialIds()));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(ProductSpecifications.priceGreaterThanOrEqualTo(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(ProductSpecifications.priceLessThanOrEqualTo(filter.getMaxPrice()));
+        }
+        if (filter.getAvailable() != null) {
+            spec = spec.and(ProductSpecifications.isAvailable(filter.getAvailable()));
+        }
+        return spec;
+    }
+
+    private static boolean hasText(ProductSearchFilterDto filter) {
+        return filter.getQ() != null && !filter.getQ().isBlank();
+    }
+
+    private static Sort toSort(String sort, boolean hasText) {
+        if (sort == null || sort.equals("relevance")) {
+            // Sem texto não há relevância: mais recentes primeiro. Com texto a Specification ordena por ts_rank.
+            return hasText ? Sort.unsorted() : Sort.by(Sort.Direction.DESC, "dtCreated");
+        }
+        return switch (sort) {
+            case "price_asc" -> Sort.by(Sort.Direction.ASC, "value");
+            case "price_desc" -> Sort.by(Sort.Direction.DESC, "value");
+            case "newest" -> Sort.by(Sort.Direction.DESC, "dtCreated");
+            default -> throw new BadRequestException("Ordenação inválida: " + sort);
+        };
+    }
+
+    private ProductFacetsDto facets(Specification<Product> spec) {
+        ProductFacetsDto facets = new ProductFacetsDto();
+        facets.setCategories(countByAssociation(spec, "category", "id", "name"));
+        facets.setTags(countByAssociation(spec, "tags", "tagId", "tagName"));
+        facets.setMaterials(countByAssociation(spec, "materials", "materialId", "materialName"));
+
+        // Disponibilidade e faixa de preço em uma única agregação.
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        query.multiselect(
+                cb.sum(cb.<Long>selectCase().when(cb.isTrue(root.get("available")), 1L).otherwise(0L)),
+                cb.sum(cb.<Long>selectCase().when(cb.isTrue(root.get("available")), 0L).otherwise(1L)),
+                cb.min(root.<Double>get("value")),
+                cb.max(root.<Double>get("value")));
+        query.where(spec.toPredicate(root, query, cb));
+        Tuple totals = entityManager.createQuery(query).getSingleResult();
+        facets.setAvailable(totals.get(0, Long.class) == null ? 0L : totals.get(0, Long.class));
+        facets.setUnavailable(totals.get(1, Long.class) == null ? 0L : totals.get(1, Long.class));
+        facets.setMinPrice(totals.get(2, Double.class));
+        facets.setMaxPrice(totals.get(3, Double.class));
+        return facets;
+    }
+
+    /**
+     * Conta produtos do conjunto filtrado agrupados pela associação informada (maiores contagens primeiro).
+     */
+    private List<FacetCountDto> countByAssociation(Specification<Product> spec, String association,
+                                                   String idAttribute, String nameAttribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountDto> query = cb.createQuery(FacetCountDto.class);
+        Root<Product> root = query.from(Product.class);
+        Join<Object, Object> join = root.join(association);
+        query.select(cb.construct(FacetCountDto.class, join.get(idAttribute), join.get(nameAttribute), cb.count(root)))
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(join.get(idAttribute), join.get(nameAttribute))
+                .orderBy(cb.desc(cb.count(root)));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -2,7 +2,13 @@ package com.br.personniMoveis.service.product;
 
 import com.br.personniMoveis.dto.product.DetailDto;
 import com.br.personniMoveis.dto.product.ProductDto;
+import com.br.personniMoveis.dto.product.ProductTagsBulkDto;
+import com.br.personniMoveis.dto.product.ProductTagsBulkResultDto;
+import com.br.personniMoveis.dto.product.TagDto;
 import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.br.personniMoveis.dto.product.get.ProductResponseDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import com.br.personniMoveis.event.ProductRestockedEvent;
 import com.br.personniMoveis.exception.AlreadyExistsException;
 import com.br.personniMoveis.exception.BadRequestException;
 import com.br.personniMoveis.exception.ResourceNotFoundException;
@@ -13,21 +19,31 @@ import com.br.personniMoveis.model.product.*;
 import com.br.personniMoveis.repository.ProductImgRepository;
 import com.br.personniMoveis.repository.ProductRepository;
 import com.br.personniMoveis.service.CategoryService;
-import com.br.personniMoveis.service.EmailService;
 import com.br.personniMoveis.service.UploadDriveService;
 import com.br.personniMoveis.utils.AuthUtils;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class ProductService {
 
+    /**
+     * Limites da associação de tags em lote: ids de produtos (e de tags) e pares produto-tag por requisição.
+     */
+    public static final int MAX_BULK_TAG_IDS = 1000;
+    public static final int MAX_BULK_TAG_PAIRS = 20_000;
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
     private final DetailService detailService;
@@ -35,15 +51,20 @@ public class ProductService {
     private final OptionService optionService;
     private final TagService tagService;
     private final AuthUtils authUtils;
-    private final EmailService emailService;
+    private final WaitingListService waitingListService;
 
     private final ProductImgRepository productImgRepository;
+    private final ProductFeedCache productFeedCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public ProductService(ProductRepository productRepository, CategoryService categoryService,
                           DetailService detailService, SectionService sectionService,
                           OptionService optionService, TagService tagService, AuthUtils authUtils,
-                          EmailService emailService, ProductImgRepository productImgRepository) {
+                          WaitingListService waitingListService, ProductImgRepository productImgRepository,
+                          ProductFeedCache productFeedCache, ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.categoryService = categoryService;
         this.detailService = detailService;
@@ -51,8 +72,11 @@ public class ProductService {
         this.optionService = optionService;
         this.tagService = tagService;
         this.authUtils = authUtils;
-        this.emailService = emailService;
+        this.waitingListService = waitingListService;
         this.productImgRepository = productImgRepository;
+        this.productFeedCache = productFeedCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public Product findProductOrThrowNotFoundException(Long id) {
@@ -65,9 +89,13 @@ public class ProductService {
                 () -> new ResourceNotFoundException("Detalhe não encontrada no produto."));
     }
 
-    private Tag findTagInProductOrThrowNotFoundException(Product product, Long tagId) {
-        return product.getTags().stream().filter(tag -> tag.getTagId().equals(tagId)).findAny().orElseThrow(
-                () -> new ResourceNotFoundException("Tag não encontrada no produto."));
+    /**
+     * Retorna o produto completo. O dto é montado dentro da transação; as coleções do produto são carregadas em lote
+     * (hibernate.default_batch_fetch_size).
+     */
+    @Transactional(readOnly = true)
+    public ProductResponseDto getProduct(Long productId) {
+        return ProductMapper.INSTANCE.productToProductResponseDto(findProductOrThrowNotFoundException(productId));
     }
 
     /**
@@ -75,36 +103,52 @@ public class ProductService {
      *
      * @return Lista de todos produtos.
      */
-    @Transactional
-    public List<Product> getAllProducts() {
-        return productRepository.findByIsRemovedFalse();
+    @Transactional(readOnly = true)
+    public List<ProductResponseDto> getAllProducts() {
+        return ProductMapper.INSTANCE.productsToProductResponseDtos(productRepository.findByIsRemovedFalse());
     }
 
+    /**
+     * Feed da tag servido pelo ProductFeedCache (projeções pré-calculadas).
+     */
     public List<ProductGetDto> getAllProductsWithTagId(Long tagId) {
-        tagService.findTagOrThrowNotFoundException(tagId);
-        return productRepository.findProductsInTag(tagId);
+        return productFeedCache.getByTag(tagId);
+    }
+
+    /**
+     * Versão do produto (base do ETag/Last-Modified), vazia se o produto não existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getProductLastModified(Long productId) {
+        return productRepository.findLastModifiedById(productId);
     }
 
-    public List<Tag> getAllTagsFromProduct(Long productId) {
+    @Transactional(readOnly = true)
+    public List<TagDto> getAllTagsFromProduct(Long productId) {
         this.findProductOrThrowNotFoundException(productId);
         return productRepository.findTagsFromProduct(productId);
     }
 
-    @Transactional
-    public List<Product> getMostRecentProducts(Integer amountOfProducts) {
+    /**
+     * Feed de produtos mais recentes servido pelo ProductFeedCache (projeções pré-calculadas).
+     */
+    public List<ProductGetDto> getMostRecentProducts(Integer amountOfProducts) {
         // Se parâmetro passado é nulo ou menor que 1, atribui padrão: 4.
         if (amountOfProducts == null || amountOfProducts < 1) {
             amountOfProducts = 4;
         }
-        return productRepository.getMostRecentProducts(amountOfProducts);
+        return productFeedCache.getMostRecent(amountOfProducts);
     }
 
     public void saveProduct(Product product) {
         productRepository.save(product);
     }
 
-    public Product createProduct(ProductDto productDto) {
-        return productRepository.save(ProductMapper.INSTANCE.productDtoToProduct(productDto));
+    @Transactional
+    public ProductResponseDto createProduct(ProductDto productDto) {
+        Product product = productRepository.save(ProductMapper.INSTANCE.productDtoToProduct(productDto));
+        eventPublisher.publishEvent(CatalogChangedEvent.products());
+        return ProductMapper.INSTANCE.productToProductResponseDto(product);
     }
 
     /**
@@ -114,24 +158,25 @@ public class ProductService {
      * @param categoryId id opcional da categoria do produto (produto pode não estar em uma categoria).
      * @return O produto persistido no banco.
      */
-    @Transactional
-    public Product createFullProduct(Product product, Long categoryId) {
+    public ProductResponseDto createFullProduct(Product product, Long categoryId) {
+        if (categoryId == null) {
+            throw new BadRequestException("Produto não foi salvo porque deve ter categoria!");
+        }
+        // Uploads ao Drive antes da transação.
+        uploadImages(product, false);
+        return transactionTemplate.execute(status -> saveFullProduct(product, categoryId));
+    }
+
+    private ProductResponseDto saveFullProduct(Product product, Long categoryId) {
         Product newProd = new Product();
-        // Seta id da categoria para possuir sua referência no produto.
-        newProd.setCategory(categoryService.findCategoryOrThrowNotFoundException(categoryId));
+        // Seta referência da categoria no produto (existência checada no cache, sem carregar a categoria).
+        newProd.setCategory(categoryService.getCategoryReference(categoryId));
         newProd.setCategoryId(categoryId);
         newProd.setName(product.getName());
         newProd.setValue(product.getValue());
         newProd.setQuantity(product.getQuantity());
         newProd.setEditable(product.getEditable());
-        try {
-            if (product.getMainImg() != null) {
-                String result = UploadDriveService.uploadBase64File(product.getMainImg(), product.getName());
-                newProd.setMainImg(result);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        newProd.setMainImg(product.getMainImg());
         newProd.setDescription(product.getDescription());
         // Seta disponibilidade de produto de acordo com a quantidade em estoque.
         newProd.setAvailable(product.getAvailable() && product.getQuantity() > 0);
@@ -157,15 +202,6 @@ public class ProductService {
                 Set<Option> newOptions = new HashSet<>();
                 if (section.getOptions() != null && !section.getOptions().isEmpty()) {
                     for (Option option : section.getOptions()) {
-                        // Set das imagens da opção.
-                        try {
-                            if (option.getMainImg() != null) {
-                                String result = UploadDriveService.updateDriveFile(option.getMainImg(), option.getName());
-                                option.setMainImg(result);
-                            }
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
                         optionService.saveOption(option);
                         newOptions.add(option);
                     }
@@ -185,24 +221,16 @@ public class ProductService {
         // seta imagens secundarias.
         if (product.getSecondaryImages() != null && !product.getSecondaryImages().isEmpty()) {
             for (ProductImg item : product.getSecondaryImages()) {
-                try {
-                    if (product.getSecondaryImages() != null) {
-                        String result = UploadDriveService.uploadBase64File(item.getImg(), product.getName());
-
-                        // Cria uma nova instância de ProductImg para cada imagem
-                        ProductImg newImg = new ProductImg();
-                        newImg.setImg(result);
-                        newImg.setProduct(newProd); // Configura a relação bidirecional
+                // Cria uma nova instância de ProductImg para cada imagem
+                ProductImg newImg = new ProductImg();
+                newImg.setImg(item.getImg());
+                newImg.setProduct(newProd); // Configura a relação bidirecional
 
-                        // Salva a nova instância de ProductImg no banco de dados antes de associá-la a newProd
-                        productImgRepository.save(newImg);
+                // Salva a nova instância de ProductImg no banco de dados antes de associá-la a newProd
+                productImgRepository.save(newImg);
 
-                        // Adiciona a nova instância ao conjunto de imagens secundárias de newProd
-                        newProd.getSecondaryImages().add(newImg);
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
+                // Adiciona a nova instância ao conjunto de imagens secundárias de newProd
+                newProd.getSecondaryImages().add(newImg);
             }
 
             // Agora que todas as ProductImg foram salvas, salve newProd no banco de dados
@@ -210,7 +238,8 @@ public class ProductService {
         }
 
 
-        return productRepository.save(newProd);
+        eventPublisher.publishEvent(CatalogChangedEvent.products());
+        return ProductMapper.INSTANCE.productToProductResponseDto(productRepository.save(newProd));
     }
 
     /**
@@ -227,16 +256,19 @@ public class ProductService {
         // Faz associação.
         detail.setProduct(product);
         product.getDetails().add(detail);
+        product.setDtUpdated(LocalDateTime.now());
         // Retorna detail criado e associado.
         return detail;
     }
 
+    @Transactional
     public void updateDetail(Long productId, Long detailId, DetailDto detailDto) {
         Product product = findProductOrThrowNotFoundException(productId);
         findDetailInProductOrThrowNotFoundException(product, detailId);
         Detail newDetail = DetailMapper.INSTANCE.detailDtoToDetail(detailDto);
         newDetail.setDetailId(detailId);
         detailService.updateDetail(newDetail);
+        product.setDtUpdated(LocalDateTime.now());
     }
 
     @Transactional
@@ -245,34 +277,40 @@ public class ProductService {
         Product product = findProductOrThrowNotFoundException(productId);
         Detail detail = findDetailInProductOrThrowNotFoundException(product, detailId);
         product.getDetails().remove(detail);
+        product.setDtUpdated(LocalDateTime.now());
     }
 
     /**
-     * Associa uma tag a um produto.
+     * Associa uma tag a um produto, sem carregar os produtos da tag.
      *
      * @param productId Id do produto
      */
     @Transactional
     public void assignTagToProduct(Long productId, Long tagId) {
-        // Recupera tag e product do BD.
-        Product product = this.findProductOrThrowNotFoundException(productId);
-        Tag tag = tagService.findTagOrThrowNotFoundException(tagId);
+        checkProductsExistOrThrowNotFoundException(List.of(productId));
+        tagService.checkTagsExistOrThrowNotFoundException(List.of(tagId));
         // Se produto já tem a tag.
-        if (product.getTags().contains(tag)) {
+        if (productRepository.hasTag(productId, tagId)) {
             throw new AlreadyExistsException("Produto já tem a tag.");
         }
-        // Faz associação entre tag e produto no BD.
-        product.getTags().add(tag);
-        tag.getProducts().add(product);
+        productRepository.addTags(List.of(productId), List.of(tagId));
+        productRepository.touchProducts(List.of(productId), LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.tag(tagId));
     }
 
-    @Transactional
-    public Product updateProduct(Product productDto, Long categoryId) {
-        // Encontra produto existente para atualizá-lo ou lança exceção.
-        Product productToBeUpdated = this.findProductOrThrowNotFoundException(productDto.getProductId());
+    public ProductResponseDto updateProduct(Product productDto, Long categoryId) {
         if (categoryId == null) {
             throw new BadRequestException("Produto não foi salvo porque deve ter categoria!");
         }
+        checkProductsExistOrThrowNotFoundException(List.of(productDto.getProductId()));
+        // Uploads ao Drive antes da transação.
+        uploadImages(productDto, true);
+        return transactionTemplate.execute(status -> saveUpdatedProduct(productDto, categoryId));
+    }
+
+    private ProductResponseDto saveUpdatedProduct(Product productDto, Long categoryId) {
+        // Encontra produto existente para atualizá-lo ou lança exceção.
+        Product productToBeUpdated = this.findProductOrThrowNotFoundException(productDto.getProductId());
         // id.
         productToBeUpdated.setProductId(productDto.getProductId());
         productToBeUpdated.setCategory(productDto.getCategory());
@@ -288,16 +326,16 @@ public class ProductService {
         // Editavel.
         productToBeUpdated.setEditable(productDto.getEditable());
         // Seta disponibilidade de produto de acordo com a quantidade em estoque.
+        boolean wasAvailable = Boolean.TRUE.equals(productToBeUpdated.getAvailable());
         productToBeUpdated.setAvailable(productDto.getAvailable() && productDto.getQuantity() > 0);
+        // Voltou ao estoque: lista de espera é notificada após o commit.
+        if (!wasAvailable && productToBeUpdated.getAvailable()) {
+            eventPublisher.publishEvent(new ProductRestockedEvent(productToBeUpdated.getProductId()));
+        }
         // Descrição principal do prod.
         productToBeUpdated.setDescription(productDto.getDescription());
         // Imagem principal.
-        try {
-            String result = UploadDriveService.updateDriveFile(productDto.getMainImg(), productDto.getName());
-            productToBeUpdated.setMainImg(result);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        productToBeUpdated.setMainImg(productDto.getMainImg());
         // details.
         Set<Detail> details = new HashSet<>();
         if (productDto.getDetails() != null && !productDto.getDetails().isEmpty()) {
@@ -314,12 +352,6 @@ public class ProductService {
                 Set<Option> updatedOptions = new HashSet<>();
                 if (section.getOptions() != null && !section.getOptions().isEmpty()) {
                     for (Option option : section.getOptions()) {
-                        try {
-                            String result = UploadDriveService.updateDriveFile(option.getMainImg(), option.getName());
-                            option.setMainImg(result);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
                         optionService.saveOption(option);
                         updatedOptions.add(option);
                     }
@@ -333,24 +365,16 @@ public class ProductService {
         // seta imagens secundarias.
         if (productDto.getSecondaryImages() != null && !productDto.getSecondaryImages().isEmpty()) {
             for (ProductImg item : productDto.getSecondaryImages()) {
-                try {
-                    if (productDto.getSecondaryImages() != null) {
-                        String result = UploadDriveService.uploadBase64File(item.getImg(), productDto.getName());
+                // Cria uma nova instância de ProductImg para cada imagem
+                ProductImg newImg = new ProductImg();
+                newImg.setImg(item.getImg());
+                newImg.setProduct(productDto); // Configura a relação bidirecional
 
-                        // Cria uma nova instância de ProductImg para cada imagem
-                        ProductImg newImg = new ProductImg();
-                        newImg.setImg(result);
-                        newImg.setProduct(productDto); // Configura a relação bidirecional
+                // Salva a nova instância de ProductImg no banco de dados antes de associá-la a newProd
+                productImgRepository.save(newImg);
 
-                        // Salva a nova instância de ProductImg no banco de dados antes de associá-la a newProd
-                        productImgRepository.save(newImg);
-
-                        // Adiciona a nova instância ao conjunto de imagens secundárias de newProd
-                        productToBeUpdated.getSecondaryImages().add(newImg);
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
+                // Adiciona a nova instância ao conjunto de imagens secundárias de newProd
+                productToBeUpdated.getSecondaryImages().add(newImg);
             }
 
             // Agora que todas as ProductImg foram salvas, salve newProd no banco de dados
@@ -360,8 +384,100 @@ public class ProductService {
         productToBeUpdated.setSections(updatedSections);
         // Seta data de atualização.
         productToBeUpdated.setDtUpdated(LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.products());
         // Persiste alteracoes.
-        return productRepository.save(productToBeUpdated);
+        return ProductMapper.INSTANCE.productToProductResponseDto(productRepository.save(productToBeUpdated));
+    }
+
+    /**
+     * Envia ao Drive as imagens do payload (principal, das opções e secundárias) e troca cada base64 pela url. Roda
+     * antes da transação do produto, para a conexão do pool não ficar presa durante os uploads.
+     *
+     * @param product payload do produto.
+     * @param update  atualização: imagens que já são urls do Drive são mantidas (updateDriveFile).
+     */
+    private static void uploadImages(Product product, boolean update) {
+        try {
+            if (update) {
+                product.setMainImg(UploadDriveService.updateDriveFile(product.getMainImg(), product.getName()));
+            } else if (product.getMainImg() != null) {
+                product.setMainImg(UploadDriveService.uploadBase64File(product.getMainImg(), product.getName()));
+            }
+            if (product.getSections() != null) {
+                for (Section section : product.getSections()) {
+                    if (section.getOptions() == null) {
+                        continue;
+                    }
+                    for (Option option : section.getOptions()) {
+                        if (update || option.getMainImg() != null) {
+                            option.setMainImg(UploadDriveService.updateDriveFile(option.getMainImg(), option.getName()));
+                        }
+                    }
+                }
+            }
+            if (product.getSecondaryImages() != null) {
+                for (ProductImg item : product.getSecondaryImages()) {
+                    item.setImg(UploadDriveService.uploadBase64File(item.getImg(), product.getName()));
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Associa todas as tags informadas a todos os produtos informados (associações existentes são mantidas).
+     */
+    @Transactional
+    public ProductTagsBulkResultDto assignTagsToProducts(ProductTagsBulkDto bulkDto) {
+        Set<Long> productIds = validateBulkIds(bulkDto.getProductIds(), "produtos");
+        Set<Long> tagIds = validateBulkIds(bulkDto.getTagIds(), "tags");
+        if ((long) productIds.size() * tagIds.size() > MAX_BULK_TAG_PAIRS) {
+            throw new BadRequestException("Máximo de " + MAX_BULK_TAG_PAIRS + " pares produto-tag por requisição.");
+        }
+        checkProductsExistOrThrowNotFoundException(productIds);
+        tagService.checkTagsExistOrThrowNotFoundException(tagIds);
+        int created = productRepository.addTags(productIds, tagIds);
+        if (created > 0) {
+            productRepository.touchProducts(productIds, LocalDateTime.now());
+            tagIds.forEach(tagId -> eventPublisher.publishEvent(CatalogChangedEvent.tag(tagId)));
+        }
+        return new ProductTagsBulkResultDto(created);
+    }
+
+    /**
+     * Remove as tags informadas dos produtos informados (associações inexistentes são ignoradas).
+     */
+    @Transactional
+    public ProductTagsBulkResultDto removeTagsFromProducts(ProductTagsBulkDto bulkDto) {
+        Set<Long> productIds = validateBulkIds(bulkDto.getProductIds(), "produtos");
+        Set<Long> tagIds = validateBulkIds(bulkDto.getTagIds(), "tags");
+        if ((long) productIds.size() * tagIds.size() > MAX_BULK_TAG_PAIRS) {
+            throw new BadRequestException("Máximo de " + MAX_BULK_TAG_PAIRS + " pares produto-tag por requisição.");
+        }
+        int removed = productRepository.removeTags(productIds, tagIds);
+        if (removed > 0) {
+            productRepository.touchProducts(productIds, LocalDateTime.now());
+            tagIds.forEach(tagId -> eventPublisher.publishEvent(CatalogChangedEvent.tag(tagId)));
+        }
+        return new ProductTagsBulkResultDto(removed);
+    }
+
+    private static Set<Long> validateBulkIds(List<Long> ids, String name) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um id de " + name + ".");
+        }
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.contains(null) || distinctIds.size() > MAX_BULK_TAG_IDS) {
+            throw new BadRequestException("Informe de 1 a " + MAX_BULK_TAG_IDS + " ids de " + name + " válidos.");
+        }
+        return distinctIds;
+    }
+
+    private void checkProductsExistOrThrowNotFoundException(Collection<Long> productIds) {
+        if (productRepository.countByProductIdIn(productIds) != productIds.size()) {
+            throw new ResourceNotFoundException("Produto não encontrado.");
+        }
     }
 
     /**
@@ -371,27 +487,32 @@ public class ProductService {
     public void deleteProduct(Long productId) {
         Product prod = findProductOrThrowNotFoundException(productId);
         prod.setIsRemoved(true);
+        eventPublisher.publishEvent(CatalogChangedEvent.products());
     }
 
     @Transactional
     public void removeTagInProduct(Long productId, Long tagId) {
-        // Encontra produto e tag.
-        Product product = this.findProductOrThrowNotFoundException(productId);
-        Tag tag = this.findTagInProductOrThrowNotFoundException(product, tagId);
-        // Remove tag e atualiza produto.
-        product.getTags().remove(tag);
+        // Remove a associação diretamente em product_tag.
+        if (productRepository.removeTags(List.of(productId), List.of(tagId)) == 0) {
+            throw new ResourceNotFoundException("Tag não encontrada no produto.");
+        }
+        productRepository.touchProducts(List.of(productId), LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.tag(tagId));
     }
 
     @Transactional
     public void removeAllTagsInProduct(Long productId) {
-        Product product = this.findProductOrThrowNotFoundException(productId);
-        // Remove todas as tags do produto e salva alterações.
-        product.getTags().clear();
+        checkProductsExistOrThrowNotFoundException(List.of(productId));
+        // Remove todas as tags do produto.
+        productRepository.removeAllTags(productId);
+        productRepository.touchProducts(List.of(productId), LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.products());
     }
 
+    /**
+     * Notifica a lista de espera do produto (também disparado automaticamente quando o produto volta ao estoque).
+     */
     public void notifyClientsProductReturned(Long productId, String productUrl) {
-        Product product = this.findProductOrThrowNotFoundException(productId);
-        // Identifica usuários que estão na lista de espera pelo produto e envia e-mail.
-        product.getUsers().forEach(user -> emailService.productArrivedMessage(user.getEmail(), user.getName(), product, productUrl));
+        waitingListService.notifyClientsProductReturned(productId, productUrl);
     }
 }
@@ -1,46 +1,92 @@
 package com.br.personniMoveis.service.product;
 
+import com.br.personniMoveis.config.CacheConfig;
+import com.br.personniMoveis.dto.product.TagDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
 import com.br.personniMoveis.exception.ResourceNotFoundException;
 import com.br.personniMoveis.model.product.Tag;
+import com.br.personniMoveis.repository.ProductRepository;
 import com.br.personniMoveis.repository.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, ProductRepository productRepository,
+                      ApplicationEventPublisher eventPublisher) {
         this.tagRepository = tagRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Tag findTagOrThrowNotFoundException(Long tagId) {
         return tagRepository.findById(tagId).orElseThrow(() -> new ResourceNotFoundException("Tag não encontrada."));
     }
 
-    public List<Tag> getAllTags() {
-        return tagRepository.findAll();
+    /**
+     * Verifica se todas as tags existem, sem carregá-las.
+     */
+    public void checkTagsExistOrThrowNotFoundException(Collection<Long> tagIds) {
+        if (tagRepository.countByTagIdIn(tagIds) != tagIds.size()) {
+            throw new ResourceNotFoundException("Tag não encontrada.");
+        }
     }
 
-    public Tag createTag(Tag tag) {
-        return tagRepository.save(tag);
+    @Cacheable(cacheNames = CacheConfig.TAGS, key = "#tagId")
+    @Transactional(readOnly = true)
+    public TagDto getTag(Long tagId) {
+        Tag tag = this.findTagOrThrowNotFoundException(tagId);
+        return new TagDto(tag.getTagId(), tag.getTagName());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TAGS, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<TagDto> getAllTags() {
+        return List.copyOf(tagRepository.findAllTags());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TAGS, allEntries = true)
+    public TagDto createTag(Tag tag) {
+        Tag newTag = tagRepository.save(tag);
+        return new TagDto(newTag.getTagId(), newTag.getTagName());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TAGS, allEntries = true)
+    @Transactional
     public void updateTag(Long tagId, String tagName) {
         Tag updatedTag = this.findTagOrThrowNotFoundException(tagId);
         updatedTag.setTagName(tagName);
         tagRepository.save(updatedTag);
+        // Nome da tag aparece nas leituras dos produtos que a possuem.
+        productRepository.touchProductsWithTag(tagId, LocalDateTime.now());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TAGS, allEntries = true)
+    @Transactional
     public void deleteTag(Long tagId) {
         Tag tag = this.findTagOrThrowNotFoundException(tagId);
         // Deleta a tag de todos os produtos que a possuem.
-        tag.getProducts().forEach(p -> p.getTags().removeIf(t -> t.getTagId().equals(tagId)));
+        LocalDateTime now = LocalDateTime.now();
+        tag.getProducts().forEach(p -> {
+            p.getTags().removeIf(t -> t.getTagId().equals(tagId));
+            p.setDtUpdated(now);
+        });
         // Deleta tag
         tagRepository.deleteById(tagId);
+        eventPublisher.publishEvent(CatalogChangedEvent.tagRemoved(tagId));
     }
 }
@@ -0,0 +1,125 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.dto.product.WaitingClientDto;
+import com.br.personniMoveis.event.ProductRestockedEvent;
+import com.br.personniMoveis.exception.ResourceNotFoundException;
+import com.br.personniMoveis.model.product.WaitingListEntry;
+import com.br.personniMoveis.model.product.WaitingListEntryId;
+import com.br.personniMoveis.repository.ProductRepository;
+import com.br.personniMoveis.repository.WaitingListRepository;
+import com.br.personniMoveis.service.EmailService;
+import com.br.personniMoveis.service.StorePropertiesService;
+import com.br.personniMoveis.utils.AuthUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lista de espera por produtos indisponíveis. Quando o produto volta ao estoque os clientes são notificados em
+ * páginas (keyset por user_id, somente e-mail e nome): cada página grava os e-mails no outbox e remove os clientes
+ * notificados na mesma transação, sem carregar entidades de usuário.
+ */
+@Service
+public class WaitingListService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitingListService.class);
+
+    private final WaitingListRepository waitingListRepository;
+    private final ProductRepository productRepository;
+    private final EmailService emailService;
+    private final StorePropertiesService storeService;
+    private final AuthUtils authUtils;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    /**
+     * Caminho da página do produto no site, relativo ao siteContext da loja ({id} = id do produto).
+     */
+    private final String productPath;
+
+    @Autowired
+    public WaitingListService(WaitingListRepository waitingListRepository, ProductRepository productRepository,
+                              EmailService emailService, StorePropertiesService storeService, AuthUtils authUtils,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${personni.waiting-list.batch-size:500}") int batchSize,
+                              @Value("${personni.waiting-list.product-path:product/{id}}") String productPath) {
+        this.waitingListRepository = waitingListRepository;
+        this.productRepository = productRepository;
+        this.emailService = emailService;
+        this.storeService = storeService;
+        this.authUtils = authUtils;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.productPath = productPath;
+    }
+
+    /**
+     * Inclui o cliente na lista de espera do produto (sem efeito se já estiver).
+     */
+    public void subscribe(String token, Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Produto não encontrado.");
+        }
+        WaitingListEntryId id = new WaitingListEntryId(productId, authUtils.getUserId(token));
+        if (!waitingListRepository.existsById(id)) {
+            waitingListRepository.save(new WaitingListEntry(id, LocalDateTime.now()));
+        }
+    }
+
+    public void unsubscribe(String token, Long productId) {
+        waitingListRepository.deleteById(new WaitingListEntryId(productId, authUtils.getUserId(token)));
+    }
+
+    /**
+     * Produto voltou ao estoque (após o commit da alteração): notifica a lista de espera em segundo plano.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductRestocked(ProductRestockedEvent event) {
+        String productUrl = storeService.getStore().getSiteContext()
+                .concat(productPath.replace("{id}", String.valueOf(event.getProductId())));
+        int notified = notifyClientsProductReturned(event.getProductId(), productUrl);
+        log.info("Produto {} de volta ao estoque: {} clientes da lista de espera notificados.", event.getProductId(), notified);
+    }
+
+    /**
+     * Notifica todos os clientes da lista de espera do produto e os remove da lista.
+     *
+     * @return quantidade de clientes notificados.
+     */
+    public int notifyClientsProductReturned(Long productId, String productUrl) {
+        String productName = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado."))
+                .getName();
+        int notified = 0;
+        long afterUserId = 0;
+        List<WaitingClientDto> page;
+        do {
+            long after = afterUserId;
+            page = transactionTemplate.execute(tx -> {
+                List<WaitingClientDto> clients = waitingListRepository.findWaitingClients(productId, after,
+                        Pageable.ofSize(batchSize));
+                if (!clients.isEmpty()) {
+                    emailService.productArrivedMessages(clients, productName, productUrl);
+                    waitingListRepository.deleteNotified(productId, clients.stream().map(WaitingClientDto::getUserId).toList());
+                }
+                return clients;
+            });
+            if (!page.isEmpty()) {
+                afterUserId = page.get(page.size() - 1).getUserId();
+            }
+            notified += page.size();
+        } while (page.size() == batchSize);
+        return notified;
+    }
+}
@@ -8,12 +8,15 @@ import com.br.personniMoveis.mapper.ElementCmp.ElementCmpMapper;
 import com.br.personniMoveis.model.productCmp.ElementCmp;
 import com.br.personniMoveis.model.productCmp.OptionCmp;
 import com.br.personniMoveis.model.productCmp.SectionCmp;
+import com.br.personniMoveis.repository.CategoryRepository;
 import com.br.personniMoveis.repository.ElementCmpRepository;
 import com.br.personniMoveis.repository.OptionCmpRepository;
 import com.br.personniMoveis.repository.SectionCmpRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,17 +32,21 @@ public class ElementCmpService {
 
     private final OptionCmpRepository optionCmpRepository;
 
+    private final CategoryRepository categoryRepository;
 
     @Autowired
     public ElementCmpService(ElementCmpRepository elementCmpRepository, SectionCmpRepository sectionCmpRepository,
-                             OptionCmpService optionCmpService, OptionCmpRepository optionCmpRepository)
+                             OptionCmpService optionCmpService, OptionCmpRepository optionCmpRepository,
+                             CategoryRepository categoryRepository)
     {
         this.elementCmpRepository = elementCmpRepository;
         this.sectionCmpRepository = sectionCmpRepository;
         this.optionCmpService = optionCmpService;
         this.optionCmpRepository = optionCmpRepository;
+        this.categoryRepository = categoryRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<ElementCmpGetDto> getAllSections() {
         List<ElementCmp> elementCmps = elementCmpRepository.findAll();
         List<ElementCmpGetDto> elementCmpGetDtos = elementCmps.stream()
@@ -48,6 +55,7 @@ public class ElementCmpService {
         return elementCmpGetDtos;
     }
 
+    @Transactional(readOnly = true)
     public ElementCmpGetDto findElementByIdOrThrowBadRequestException(Long id, String exceptionMessage) {
         return ElementCmpMapper.INSTANCE.ElementCmpToElementCmpGetDto(
                 elementCmpRepository.findById(id).orElseThrow(
@@ -63,7 +71,8 @@ public class ElementCmpService {
             // Configura a seção nos elementos
             newElement.setSectionCmp(sectionCmp);
             // Persiste a nova instância no banco de dados
-            elementCmpRepository.save(newElement);;
+            elementCmpRepository.save(newElement);
+            categoryRepository.touchByElementCmp(newElement.getId(), LocalDateTime.now());
 
             // Criando elementos relacionados, se necessário
             if (elementCmpDto.getOptionCmpDtos() != null) {
@@ -85,6 +94,7 @@ public class ElementCmpService {
         ElementBeUpdated.setId(elementCmpId);
         // Persiste alteracoes.
         elementCmpRepository.save(ElementBeUpdated);
+        categoryRepository.touchByElementCmp(elementCmpId, LocalDateTime.now());
 
         if (!elementCmpDtos.getOptionCmpDtos().isEmpty()) {
             if (elementCmpDtos.getOptionCmpDtos() != null) {
@@ -118,7 +128,8 @@ public class ElementCmpService {
         if (!optionWithElement.isEmpty()) {
             throw new BadRequestException("Cannot delete element. It has associated options.");
         }
-        // Deleta o elemento
+        // Avança versão da categoria antes de remover o vínculo, depois deleta o elemento.
+        categoryRepository.touchByElementCmp(elementId, LocalDateTime.now());
         elementCmpRepository.delete(elementToDelete);
     }
 }
@@ -6,14 +6,18 @@ import com.br.personniMoveis.exception.BadRequestException;
 import com.br.personniMoveis.mapper.OptionCmp.OptionCmpMapper;
 import com.br.personniMoveis.model.productCmp.ElementCmp;
 import com.br.personniMoveis.model.productCmp.OptionCmp;
+import com.br.personniMoveis.repository.CategoryRepository;
 import com.br.personniMoveis.repository.ElementCmpRepository;
 import com.br.personniMoveis.repository.OptionCmpRepository;
+import com.br.personniMoveis.repository.ProductCmpRepository;
 import com.br.personniMoveis.service.UploadDriveService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,16 +31,23 @@ public class OptionCmpService {
 
     private final UploadDriveService uploadDriveService;
 
+    private final CategoryRepository categoryRepository;
+
+    private final ProductCmpRepository productCmpRepository;
 
     @Autowired
-    public OptionCmpService(ElementCmpRepository elementCmpRepository, OptionCmpRepository optionCmpRepository,UploadDriveService uploadDriveService)
+    public OptionCmpService(ElementCmpRepository elementCmpRepository, OptionCmpRepository optionCmpRepository,UploadDriveService uploadDriveService,
+                            CategoryRepository categoryRepository, ProductCmpRepository productCmpRepository)
     {
         this.elementCmpRepository = elementCmpRepository;
         this.optionCmpRepository = optionCmpRepository;
         this.uploadDriveService = uploadDriveService;
+        this.categoryRepository = categoryRepository;
+        this.productCmpRepository = productCmpRepository;
 
     }
 
+    @Transactional(readOnly = true)
     public List<OptionCmpGetDto> getAllOptions() {
         List<OptionCmp> optionCmps = optionCmpRepository.findAll();
         List<OptionCmpGetDto> optionCmpGetDtos = optionCmps.stream()
@@ -45,6 +56,7 @@ public class OptionCmpService {
         return optionCmpGetDtos;
     }
 
+    @Transactional(readOnly = true)
     public OptionCmpGetDto findOptionByIdOrThrowBadRequestException(Long id, String exceptionMessage) {
         return OptionCmpMapper.INSTANCE.OptionCmpToOptionCmpGetDto(
                 optionCmpRepository.findById(id).orElseThrow(
@@ -72,6 +84,7 @@ public class OptionCmpService {
 
 
         optionCmpRepository.save(newOption);
+        categoryRepository.touchByOptionCmp(newOption.getId(), LocalDateTime.now());
 
     }
 
@@ -92,13 +105,25 @@ public class OptionCmpService {
         }
         // Persiste alteracoes.
         optionCmpRepository.save(OptionBeUpdated);
+        categoryRepository.touchByOptionCmp(optionCmpId, LocalDateTime.now());
+        // Preço em cache das configurações que usam a opção.
+        productCmpRepository.refreshCachedPrices(optionCmpId);
     }
 
 
+    /**
+     * Remove a opção numa única transação: versão da categoria, configurações aposentadas, seleções e a opção são
+     * gravadas juntas ou nenhuma delas.
+     */
+    @Transactional
     public void deleteOptionCmpById(Long optionCmpId) {
         // Econtra produto ou joga exceção.
         findOptionByIdOrThrowBadRequestException(optionCmpId, "Element not found");
-        // Deleta produto via id.
+        // Avança versão da categoria antes de remover o vínculo, depois deleta a opção.
+        categoryRepository.touchByOptionCmp(optionCmpId, LocalDateTime.now());
+        // Configurações com a opção deixam de ser reutilizadas (pedidos mantêm o snapshot dos itens).
+        productCmpRepository.retireConfigurationsWithOption(optionCmpId);
+        productCmpRepository.deleteSelectionsWithOption(optionCmpId);
         optionCmpRepository.deleteById(optionCmpId);
     }
 }
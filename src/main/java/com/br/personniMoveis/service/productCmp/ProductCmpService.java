@@ -11,17 +11,31 @@ import com.br.personniMoveis.mapper.ProductCmp.ProductCmpMapper;
 import com.br.personniMoveis.model.productCmp.ElementCmp;
 import com.br.personniMoveis.model.productCmp.OptionCmp;
 import com.br.personniMoveis.model.productCmp.ProductCmp;
+import com.br.personniMoveis.model.productCmp.ProductCmpSelection;
 import com.br.personniMoveis.model.productCmp.SectionCmp;
 import com.br.personniMoveis.repository.ElementCmpRepository;
 import com.br.personniMoveis.repository.OptionCmpRepository;
 import com.br.personniMoveis.repository.ProductCmpRepository;
 import com.br.personniMoveis.repository.SectionCmpRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductCmpService {
@@ -47,74 +61,136 @@ public class ProductCmpService {
                 () -> new ResourceNotFoundException("Cmp não encontrado."));
     }
 
+    @Transactional(readOnly = true)
     public ProductCmpGetDto findProductByIdOrThrowBadRequestException(Long id, String exceptionMessage) {
         return ProductCmpMapper.INSTANCE.ProductCmpToProductCmpGetDto(productCmpRepository.findById(id).orElseThrow(
                 () -> new BadRequestException(exceptionMessage)));
     }
 
+    /**
+     * O dto expõe as seções do cmp, então elementos e opções são inicializados aqui, dentro da transação.
+     */
+    @Transactional(readOnly = true)
     public ProductCmpGetByIdDto findProdutctCmpByIdOrThrowBadRequestException(Long id) {
         ProductCmp productCmp = productCmpRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("ProductCmp not found"));
+        productCmp.getSectionCmps().forEach(sectionCmp ->
+                sectionCmp.getElementCmps().forEach(elementCmp -> Hibernate.initialize(elementCmp.getOptionCmps())));
 
         ProductCmpGetByIdDto productCmpGetByIdDto = ProductCmpMapper.INSTANCE.ProductCmpToProductCmpGetByIdDto(productCmp);
 
         return productCmpGetByIdDto;
     }
 
+    /**
+     * Retorna o cmp da configuração informada, criando-o só se a configuração ainda não existe. A configuração é
+     * identificada pela chave canônica das triplas (seção, elemento, opção) escolhidas, então pedidos da mesma
+     * configuração reutilizam um único cmp: gravações crescem com as configurações distintas, não com os pedidos.
+     * O cmp representa a configuração (quantidade 1, valueTotal = valor unitário em cache); a quantidade comprada
+     * fica no item do pedido. Descrição e imagem do cmp são as do primeiro pedido da configuração; as de cada pedido
+     * ficam no snapshot do item.
+     */
+    @Transactional
     public ProductCmp createProductCmp(ProductCmpDto productCmpCreateDto) {
-        // Crie um novo produto
+        List<Selection> selections = canonicalSelections(productCmpCreateDto);
+        List<ProductCmpSelection> resolved = resolveSelections(selections);
+        String configHash = configurationHash(selections);
+        // Serializa criações da mesma configuração até o fim da transação.
+        productCmpRepository.lockConfiguration(Long.parseUnsignedLong(configHash.substring(0, 16), 16));
+        Optional<ProductCmp> existing = productCmpRepository.findByConfigHash(configHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
         ProductCmp newProductCmp = new ProductCmp();
-        newProductCmp.setQuantity(productCmpCreateDto.getQuantity());
+        newProductCmp.setQuantity(1L);
         newProductCmp.setImg(productCmpCreateDto.getImgUrl());
         newProductCmp.setDescription(productCmpCreateDto.getDescription());
+        newProductCmp.setConfigHash(configHash);
+        double unitPrice = 0.0;
+        for (ProductCmpSelection selection : resolved) {
+            newProductCmp.getSectionCmps().add(selection.getSectionCmp());
+            newProductCmp.getSelections().add(selection);
+            unitPrice += selection.getOptionCmp().getPrice();
+        }
+        newProductCmp.setValueTotal(unitPrice);
+        return productCmpRepository.save(newProductCmp);
+    }
 
-        // Mapeie a lista de seções
-        for (SectionProductCmpDto sectionProductCmpDto : productCmpCreateDto.getSectionProductCmpDtos()) {
-            SectionCmp sectionCmp = sectionCmpRepository.findById(sectionProductCmpDto.getSectionId())
+    /**
+     * Carrega seções, elementos e opções das triplas em lote e recusa triplas incoerentes (elemento de outra seção ou
+     * opção de outro elemento), que gerariam configurações e preços que o configurador não oferece.
+     */
+    private List<ProductCmpSelection> resolveSelections(List<Selection> selections) {
+        Map<Long, SectionCmp> sections = sectionCmpRepository.findAllById(
+                selections.stream().map(Selection::sectionId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(SectionCmp::getId, Function.identity()));
+        Map<Long, ElementCmp> elements = elementCmpRepository.findAllById(
+                selections.stream().map(Selection::elementId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ElementCmp::getId, Function.identity()));
+        Map<Long, OptionCmp> options = optionCmpRepository.findAllById(
+                selections.stream().map(Selection::optionId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(OptionCmp::getId, Function.identity()));
+
+        List<ProductCmpSelection> resolved = new ArrayList<>();
+        for (Selection selection : selections) {
+            SectionCmp sectionCmp = Optional.ofNullable(sections.get(selection.sectionId()))
                     .orElseThrow(() -> new EntityNotFoundException("SectionCmp not found"));
-
-            // Adicione a seção ao produto
-            newProductCmp.getSectionCmps().add(sectionCmp);
-
-            // Mapeie os elementos para esta seção
-            for (ElementProductCmpDto elementProductCmpDto : sectionProductCmpDto.getElementProductCmpDtos()) {
-                ElementCmp elementCmp = elementCmpRepository.findById(elementProductCmpDto.getId())
-                        .orElseThrow(() -> new EntityNotFoundException("ElementCmp not found"));
-
-                // Adicione o elemento à seção
-                sectionCmp.getElementCmps().add(elementCmp);
-
-                // Mapeie a opção para este elemento usando o ID da opção
-                Long optionId = elementProductCmpDto.getOptionProductCmpDto().getId();
-                Set<OptionCmp> optionCmp = Collections.singleton(optionCmpRepository.findById(optionId)
-                        .orElseThrow(() -> new EntityNotFoundException("OptionCmp not found")));
-
-                // Associe a opção ao elemento
-                elementCmp.setOptionCmps(optionCmp);
+            ElementCmp elementCmp = Optional.ofNullable(elements.get(selection.elementId()))
+                    .orElseThrow(() -> new EntityNotFoundException("ElementCmp not found"));
+            OptionCmp optionCmp = Optional.ofNullable(options.get(selection.optionId()))
+                    .orElseThrow(() -> new EntityNotFoundException("OptionCmp not found"));
+            if (elementCmp.getSectionCmp() == null || !sectionCmp.getId().equals(elementCmp.getSectionCmp().getId())) {
+                throw new BadRequestException("Elemento " + elementCmp.getId() + " não pertence à seção "
+                        + sectionCmp.getId() + ".");
+            }
+            if (optionCmp.getElementCmp() == null || !elementCmp.getId().equals(optionCmp.getElementCmp().getId())) {
+                throw new BadRequestException("Opção " + optionCmp.getId() + " não pertence ao elemento "
+                        + elementCmp.getId() + ".");
             }
+            resolved.add(new ProductCmpSelection(sectionCmp, elementCmp, optionCmp));
         }
-        // Calcule o valor total com base nas opções selecionadas
-        double totalOptionPrice = calculateTotalOptionPrice(newProductCmp);
-        //Multiplica o valor pela quantidade
-        totalOptionPrice = totalOptionPrice * newProductCmp.getQuantity();
-        // Atribua o valor total ao produto
-        newProductCmp.setValueTotal(totalOptionPrice);
-        // Salve o novo produto no banco de dados
-        return productCmpRepository.save(newProductCmp);
+        return resolved;
     }
 
-    private double calculateTotalOptionPrice(ProductCmp productCmp) {
-        double totalOptionPrice = 0.0;
-
-        for (SectionCmp sectionCmp : productCmp.getSectionCmps()) {
-            for (ElementCmp elementCmp : sectionCmp.getElementCmps()) {
-                for (OptionCmp optionCmp : elementCmp.getOptionCmps()) {
-                    totalOptionPrice += optionCmp.getPrice();
+    /**
+     * Triplas (seção, elemento, opção) escolhidas, sem repetição e ordenadas: a mesma configuração sempre gera a mesma
+     * lista, independente da ordem em que seções e elementos chegam.
+     */
+    private static List<Selection> canonicalSelections(ProductCmpDto productCmpDto) {
+        Set<Selection> selections = new TreeSet<>(Comparator.comparing(Selection::sectionId)
+                .thenComparing(Selection::elementId).thenComparing(Selection::optionId));
+        for (SectionProductCmpDto sectionProductCmpDto : productCmpDto.getSectionProductCmpDtos()) {
+            for (ElementProductCmpDto elementProductCmpDto : sectionProductCmpDto.getElementProductCmpDtos()) {
+                if (elementProductCmpDto.getOptionProductCmpDto() == null) {
+                    continue;
                 }
+                selections.add(new Selection(sectionProductCmpDto.getSectionId(), elementProductCmpDto.getId(),
+                        elementProductCmpDto.getOptionProductCmpDto().getId()));
             }
         }
+        if (selections.isEmpty()) {
+            throw new BadRequestException("Nenhuma opção selecionada no cmp.");
+        }
+        return new ArrayList<>(selections);
+    }
+
+    /**
+     * Sha-256 (hex) das triplas canônicas no formato "secao:elemento:opcao;".
+     */
+    private static String configurationHash(List<Selection> selections) {
+        StringBuilder canonical = new StringBuilder();
+        selections.forEach(s -> canonical.append(s.sectionId()).append(':').append(s.elementId()).append(':')
+                .append(s.optionId()).append(';'));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-        return totalOptionPrice;
+    private record Selection(Long sectionId, Long elementId, Long optionId) {
     }
 
     public void updateProduct(ProductCmpDto productCmpDto, Long productId) {
@@ -13,7 +13,9 @@ import com.br.personniMoveis.repository.ElementCmpRepository;
 import com.br.personniMoveis.repository.SectionCmpRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -35,6 +37,7 @@ public class SectionCmpService {
         this.elementCmpRepository = elementCmpRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<SectionCmpGetDto> getAllSections() {
         List<SectionCmp> sections = sectionCmpRepository.findAll();
         List<SectionCmpGetDto> sectionDtos = sections.stream()
@@ -43,6 +46,7 @@ public class SectionCmpService {
         return sectionDtos;
     }
 
+    @Transactional(readOnly = true)
     public SectionCmpGetDto findSectionByIdOrThrowBadRequestException(Long id, String exceptionMessage) {
         return SectionCmpMapper.INSTANCE.SectionToSectionGetDto(
                 sectionCmpRepository.findById(id).orElseThrow(
@@ -57,6 +61,7 @@ public class SectionCmpService {
         newSection.setCategory(category);
         // Persiste a nova instância no banco de dados
         sectionCmpRepository.save(newSection);
+        categoryRepository.touchBySectionCmp(newSection.getId(), LocalDateTime.now());
 
         // Criando elementos relacionados, se necessário
                 if (sectionCmpDto.getElementCmpDtos() != null) {
@@ -77,6 +82,7 @@ public class SectionCmpService {
         updatedSection.setId(sectionCmpId);
         updatedSection.setCategory(sectionCmp.getCategory()); // Mantém a mesma categoria
         sectionCmpRepository.save(updatedSection);
+        categoryRepository.touchBySectionCmp(sectionCmpId, LocalDateTime.now());
 
         if (!sectionCmpDto.getElementCmpDtos().isEmpty()) {
             if (sectionCmpDto.getElementCmpDtos() != null) {
@@ -112,7 +118,8 @@ public class SectionCmpService {
         if (!elementWithSection.isEmpty()) {
             throw new BadRequestException("Cannot delete section. It has associated element.");
         }
-        // Deleta a seção
+        // Avança versão da categoria antes de remover o vínculo, depois deleta a seção.
+        categoryRepository.touchBySectionCmp(sectionId, LocalDateTime.now());
         sectionCmpRepository.delete(sectionToDelete);
     }
 }
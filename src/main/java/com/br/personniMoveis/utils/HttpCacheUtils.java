@@ -0,0 +1,70 @@
+package com.br.personniMoveis.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Apoio às requisições condicionais (If-None-Match/If-Modified-Since) das leituras do catálogo. A versão do recurso é
+ * obtida por consulta leve antes de carregar a entidade; se o cliente (ou a CDN) já tem essa versão a resposta é 304.
+ */
+public final class HttpCacheUtils {
+
+    /**
+     * Leituras públicas do catálogo: navegador reutiliza por 1 min, CDN por 5 min e, depois disso, revalida com o
+     * ETag (304 sem corpo quando nada mudou).
+     */
+    public static final CacheControl PUBLIC_CATALOG = CacheControl.maxAge(Duration.ofMinutes(1))
+            .sMaxAge(Duration.ofMinutes(5))
+            .staleWhileRevalidate(Duration.ofSeconds(30))
+            .cachePublic();
+
+    /**
+     * Leituras restritas (admin): não ficam em caches compartilhados e são sempre revalidadas.
+     */
+    public static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private HttpCacheUtils() {
+    }
+
+    /**
+     * Confere If-None-Match/If-Modified-Since com a versão do recurso e escreve os headers ETag/Last-Modified na
+     * resposta. Sem data de alteração conhecida, somente o ETag é considerado.
+     *
+     * @return true quando o cliente já tem a versão atual (responder 304).
+     */
+    public static boolean checkNotModified(WebRequest request, LocalDateTime lastModified, Object... etagParts) {
+        return request.checkNotModified(etag(etagParts), toEpochMilli(lastModified));
+    }
+
+    /**
+     * Resposta 304 sem corpo, mantendo o Cache-Control da resposta completa.
+     */
+    public static <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * ETag fraco calculado a partir das partes que identificam a versão do recurso (ex: tipo, id e data de alteração).
+     */
+    public static String etag(Object... parts) {
+        String version = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "W/\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Data de alteração em epoch millis para o header Last-Modified (-1 quando desconhecida, o header é omitido).
+     */
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
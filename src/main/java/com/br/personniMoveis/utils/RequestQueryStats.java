@@ -0,0 +1,53 @@
+package com.br.personniMoveis.utils;
+
+/**
+ * Contadores de statements JDBC executados durante a requisição HTTP corrente (por thread). Alimentado pelo listener
+ * de sessão do Hibernate e lido pelo filtro de requisições para expor contagem e tempo de BD por requisição.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long dbTimeNanos;
+
+    private RequestQueryStats() {
+    }
+
+    /**
+     * Inicia a contagem para a thread corrente.
+     */
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Retorna a contagem da thread corrente ou null se não há requisição sendo contabilizada.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void recordStatement(long elapsedNanos) {
+        statementCount++;
+        dbTimeNanos += elapsedNanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public long getDbTimeMillis() {
+        return dbTimeNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,17 @@
+-- Lista de espera por produto: PK (product_id, user_id) atende a leitura paginada dos clientes de um produto no
+-- retorno ao estoque. Substitui a tabela de juncao user_waiting_product.
+create table product_waiting_list (
+    product_id bigint not null,
+    user_id bigint not null,
+    created_at timestamp(6) not null,
+    primary key (product_id, user_id)
+);
+
+alter table product_waiting_list add constraint fk_product_waiting_list_product foreign key (product_id) references product;
+alter table product_waiting_list add constraint fk_product_waiting_list_user foreign key (user_id) references user_entity;
+create index idx_product_waiting_list_user on product_waiting_list (user_id);
+
+insert into product_waiting_list (product_id, user_id, created_at)
+select distinct product_id, user_id, now() from user_waiting_product;
+
+drop table user_waiting_product;
@@ -0,0 +1,44 @@
+-- Agregados de vendas mantidos incrementalmente (SalesAggregationService): cada pedido finalizado (CONCLUIDA ou
+-- CANCELADO) e somado uma unica vez. analytics_status guarda o status ja contabilizado; pedidos cancelados pagos depois
+-- (CANCELADO -> CONCLUIDA) somam so a venda. Pedidos ja existentes sao agregados pelo job de delta.
+alter table order_table add column analytics_status varchar(20);
+alter table order_cmp_table add column analytics_status varchar(20);
+
+create index idx_order_analytics_pending on order_table (order_id)
+    where status in ('CONCLUIDA', 'CANCELADO')
+      and (analytics_status is null or (analytics_status = 'CANCELADO' and status = 'CONCLUIDA'));
+create index idx_order_cmp_analytics_pending on order_cmp_table (order_cmp_id)
+    where status in ('CONCLUIDA', 'CANCELADO')
+      and (analytics_status is null or (analytics_status = 'CANCELADO' and status = 'CONCLUIDA'));
+
+-- Receita, pedidos e unidades por dia (produtos e cmps) e conversao das cobrancas pix (finalizadas x pagas).
+create table sales_daily (
+    day date not null,
+    orders bigint not null,
+    units bigint not null,
+    revenue float(53) not null,
+    cmp_orders bigint not null,
+    cmp_units bigint not null,
+    cmp_revenue float(53) not null,
+    pix_charges bigint not null,
+    pix_paid bigint not null,
+    primary key (day)
+);
+
+-- Unidades e receita por produto por dia.
+create table sales_product_daily (
+    day date not null,
+    product_id bigint not null,
+    units bigint not null,
+    revenue float(53) not null,
+    primary key (day, product_id)
+);
+
+-- Opcoes do configurador (snapshot do item: grupo e nome) escolhidas por dia, ponderadas pela quantidade de cmps.
+create table sales_option_daily (
+    day date not null,
+    option_group varchar(255) not null,
+    option_name varchar(255) not null,
+    selections bigint not null,
+    primary key (day, option_group, option_name)
+);
@@ -0,0 +1,6 @@
+-- Pedidos gravados sem cobranca pix vinculada (falha do PSP ou da aplicacao entre o pedido e a cobranca): a
+-- conciliacao os cancela apos o prazo de pagamento e devolve o estoque.
+create index idx_order_without_charge on order_table (date, order_id)
+    where txid is null and status is null;
+create index idx_order_cmp_without_charge on order_cmp_table (date, order_cmp_id)
+    where txid is null and status is null;
@@ -0,0 +1,3 @@
+-- Pedido de produtos da cobranca pix: carrinho misto gera um pedido e um pedido cmp com o mesmo txid, e os agregados
+-- de vendas contam a cobranca somente pelo pedido de produtos (SalesDailyRepository#addOrdersCmp).
+create index idx_order_txid on order_table (txid) where txid is not null;
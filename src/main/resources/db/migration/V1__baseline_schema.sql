@@ -0,0 +1,326 @@
+-- Esquema base equivalente ao gerado pelo Hibernate a partir das entidades (ddl-auto=create).
+-- Sequencias seguem o padrao do Hibernate 6 (<entidade>_seq com incremento 50).
+
+create sequence category_seq start with 1 increment by 50;
+create sequence client_address_seq start with 1 increment by 50;
+create sequence detail_seq start with 1 increment by 50;
+create sequence element_cmp_seq start with 1 increment by 50;
+create sequence material_seq start with 1 increment by 50;
+create sequence option_cmp_seq start with 1 increment by 50;
+create sequence option_seq start with 1 increment by 50;
+create sequence order_cmp_seq start with 1 increment by 50;
+create sequence order_item_cmp_seq start with 1 increment by 50;
+create sequence order_item_seq start with 1 increment by 50;
+create sequence order_seq start with 1 increment by 50;
+create sequence product_cmp_seq start with 1 increment by 50;
+create sequence product_img_seq start with 1 increment by 50;
+create sequence product_seq start with 1 increment by 50;
+create sequence requests_seq start with 1 increment by 50;
+create sequence section_cmp_seq start with 1 increment by 50;
+create sequence section_seq start with 1 increment by 50;
+create sequence situation_seq start with 1 increment by 50;
+create sequence store_properties_seq start with 1 increment by 50;
+create sequence tag_seq start with 1 increment by 50;
+create sequence type_seq start with 1 increment by 50;
+create sequence user_entity_role_seq start with 1 increment by 50;
+create sequence user_entity_seq start with 1 increment by 50;
+
+create table category (
+    id bigint not null,
+    name varchar(255) not null,
+    allow_creation boolean not null,
+    is_removed boolean,
+    primary key (id)
+);
+
+create table product (
+    product_id bigint not null,
+    name varchar(255) not null,
+    value float(53) not null,
+    quantity bigint not null,
+    editable boolean not null,
+    main_img varchar(1000),
+    description varchar(1000),
+    dt_created timestamp(6),
+    dt_updated timestamp(6),
+    available boolean,
+    is_removed boolean,
+    category_id bigint,
+    id bigint,
+    primary key (product_id)
+);
+
+create table product_img (
+    product_img_id bigint not null,
+    img varchar(255),
+    product_id bigint,
+    product_product_id bigint,
+    primary key (product_img_id)
+);
+
+create table detail (
+    detail_id bigint not null,
+    detail_field varchar(255),
+    field_content varchar(255),
+    product_id bigint,
+    primary key (detail_id)
+);
+
+create table material (
+    material_id bigint not null,
+    material_name varchar(255) not null,
+    price float(53) not null,
+    img_url varchar(255),
+    primary key (material_id)
+);
+
+create table product_material (
+    product_id bigint not null,
+    material_id bigint not null,
+    primary key (product_id, material_id)
+);
+
+create table section (
+    section_id bigint not null,
+    name varchar(255) not null,
+    product_id bigint,
+    primary key (section_id)
+);
+
+create table option (
+    option_id bigint not null,
+    name varchar(255) not null,
+    main_img varchar(1000),
+    description varchar(255),
+    price float(53),
+    section_id bigint,
+    primary key (option_id)
+);
+
+create table type (
+    type_id bigint not null,
+    name varchar(255) not null,
+    product_id bigint,
+    primary key (type_id)
+);
+
+create table tag (
+    tag_id bigint not null,
+    tag_name varchar(255),
+    primary key (tag_id)
+);
+
+create table product_tag (
+    product_id bigint not null,
+    tag_id bigint not null,
+    primary key (product_id, tag_id)
+);
+
+create table requests (
+    requests_id bigint not null,
+    name varchar(255) not null,
+    primary key (requests_id)
+);
+
+create table situation (
+    situation_id bigint not null,
+    name varchar(255) not null,
+    primary key (situation_id)
+);
+
+create table request_situation (
+    requests_id bigint not null,
+    situation_id bigint not null,
+    primary key (requests_id, situation_id)
+);
+
+create table store_properties (
+    store_id bigint not null,
+    address_meta varchar(255),
+    store_name varchar(255),
+    store_logo_path varchar(255),
+    store_logo_secondary_path varchar(255),
+    store_placeholder_path varchar(255),
+    store_email varchar(255),
+    about_us_info varchar(255),
+    store_address varchar(255),
+    store_phone varchar(255),
+    primary_collor varchar(255),
+    secondary_collor varchar(255),
+    site_context varchar(255),
+    primary key (store_id)
+);
+
+create table user_entity (
+    user_id bigint not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    cpf varchar(255),
+    phone_number varchar(255),
+    is_removed boolean,
+    profile smallint check (profile between 0 and 2),
+    primary key (user_id),
+    constraint uk_user_entity_email unique (email),
+    constraint uk_user_entity_cpf unique (cpf)
+);
+
+create table user_entity_role (
+    id bigint not null,
+    role smallint check (role between 0 and 2),
+    primary key (id)
+);
+
+create table client_address (
+    address_id bigint not null,
+    address_nickname varchar(255) not null,
+    cep varchar(255) not null,
+    state varchar(255) not null,
+    city varchar(255) not null,
+    district varchar(255) not null,
+    street varchar(255) not null,
+    number varchar(255) not null,
+    details varchar(255),
+    user_id bigint,
+    primary key (address_id)
+);
+
+create table user_waiting_product (
+    user_id bigint not null,
+    product_id bigint not null
+);
+
+create table order_table (
+    order_id bigint not null,
+    delivery_address varchar(255),
+    total_price float(53),
+    date timestamp(6),
+    user_id bigint,
+    status varchar(255),
+    txid varchar(255),
+    primary key (order_id)
+);
+
+create table order_item (
+    order_item_id bigint not null,
+    selected_amount_of_products bigint,
+    subtotal float(53),
+    order_id bigint,
+    primary key (order_item_id)
+);
+
+create table product_order_item (
+    product_id bigint not null,
+    order_item_id bigint not null
+);
+
+create table order_cmp_table (
+    order_cmp_id bigint not null,
+    delivery_address varchar(255),
+    total_price float(53),
+    date timestamp(6),
+    user_id bigint,
+    status varchar(255),
+    txid varchar(255),
+    primary key (order_cmp_id)
+);
+
+create table order_item_cmp (
+    order_item_cmp_id bigint not null,
+    selected_amount_of_cmps bigint,
+    subtotal float(53),
+    order_cmp_id bigint,
+    primary key (order_item_cmp_id)
+);
+
+create table product_cmp (
+    product_cmp_id bigint not null,
+    value_total float(53) not null,
+    quantity bigint not null,
+    main_img varchar(255),
+    description varchar(255),
+    primary key (product_cmp_id)
+);
+
+create table section_cmp (
+    section_cmp_id bigint not null,
+    name varchar(255) not null,
+    index integer,
+    category_id bigint,
+    id bigint,
+    primary key (section_cmp_id)
+);
+
+create table product_cmp_section (
+    product_cmp_id bigint not null,
+    section_cmp_id bigint not null,
+    primary key (product_cmp_id, section_cmp_id)
+);
+
+create table section_cmp_product_cmp (
+    section_cmp_section_cmp_id bigint not null,
+    product_cmp_product_cmp_id bigint not null,
+    primary key (section_cmp_section_cmp_id, product_cmp_product_cmp_id)
+);
+
+create table element_cmp (
+    element_cmp_id bigint not null,
+    name varchar(255) not null,
+    type varchar(255),
+    mandatory boolean,
+    index integer,
+    section_cmp_section_cmp_id bigint,
+    section_cmp_id bigint,
+    primary key (element_cmp_id)
+);
+
+create table option_cmp (
+    option_cmp_id bigint not null,
+    name varchar(255) not null,
+    img varchar(255),
+    descriptions varchar(255),
+    price float(53) not null,
+    element_cmp_element_cmp_id bigint,
+    element_cmp_id bigint,
+    primary key (option_cmp_id)
+);
+
+create table cmp_order_item (
+    product_cmp_id bigint not null,
+    order_item_cmp_id bigint not null
+);
+
+alter table product add constraint fk_product_category foreign key (id) references category;
+alter table product_img add constraint fk_product_img_product foreign key (product_id) references product;
+alter table product_img add constraint fk_product_img_product_ref foreign key (product_product_id) references product;
+alter table detail add constraint fk_detail_product foreign key (product_id) references product;
+alter table product_material add constraint fk_product_material_material foreign key (material_id) references material;
+alter table product_material add constraint fk_product_material_product foreign key (product_id) references product;
+alter table section add constraint fk_section_product foreign key (product_id) references product;
+alter table option add constraint fk_option_section foreign key (section_id) references section;
+alter table type add constraint fk_type_section foreign key (product_id) references section;
+alter table product_tag add constraint fk_product_tag_tag foreign key (tag_id) references tag;
+alter table product_tag add constraint fk_product_tag_product foreign key (product_id) references product;
+alter table request_situation add constraint fk_request_situation_requests foreign key (situation_id) references requests;
+alter table request_situation add constraint fk_request_situation_situation foreign key (requests_id) references situation;
+alter table client_address add constraint fk_client_address_user foreign key (user_id) references user_entity;
+alter table user_waiting_product add constraint fk_user_waiting_product_product foreign key (product_id) references product;
+alter table user_waiting_product add constraint fk_user_waiting_product_user foreign key (user_id) references user_entity;
+alter table order_table add constraint fk_order_user foreign key (user_id) references user_entity;
+alter table order_item add constraint fk_order_item_order foreign key (order_id) references order_table;
+alter table product_order_item add constraint fk_product_order_item_order_item foreign key (order_item_id) references order_item;
+alter table product_order_item add constraint fk_product_order_item_product foreign key (product_id) references product;
+alter table order_cmp_table add constraint fk_order_cmp_user foreign key (user_id) references user_entity;
+alter table order_item_cmp add constraint fk_order_item_cmp_order_cmp foreign key (order_cmp_id) references order_cmp_table;
+alter table section_cmp add constraint fk_section_cmp_category foreign key (category_id) references category;
+alter table section_cmp add constraint fk_section_cmp_category_ref foreign key (id) references category;
+alter table product_cmp_section add constraint fk_product_cmp_section_section foreign key (section_cmp_id) references section_cmp;
+alter table product_cmp_section add constraint fk_product_cmp_section_product foreign key (product_cmp_id) references product_cmp;
+alter table section_cmp_product_cmp add constraint fk_section_cmp_product_cmp_product foreign key (product_cmp_product_cmp_id) references product_cmp;
+alter table section_cmp_product_cmp add constraint fk_section_cmp_product_cmp_section foreign key (section_cmp_section_cmp_id) references section_cmp;
+alter table element_cmp add constraint fk_element_cmp_section_cmp foreign key (section_cmp_section_cmp_id) references section_cmp;
+alter table element_cmp add constraint fk_element_cmp_section_cmp_ref foreign key (section_cmp_id) references section_cmp;
+alter table option_cmp add constraint fk_option_cmp_element_cmp foreign key (element_cmp_element_cmp_id) references element_cmp;
+alter table option_cmp add constraint fk_option_cmp_element_cmp_ref foreign key (element_cmp_id) references element_cmp;
+alter table cmp_order_item add constraint fk_cmp_order_item_order_item foreign key (order_item_cmp_id) references order_item_cmp;
+alter table cmp_order_item add constraint fk_cmp_order_item_product_cmp foreign key (product_cmp_id) references product_cmp;
@@ -0,0 +1,38 @@
+-- Indices para os caminhos de consulta dos repositorios e chaves estrangeiras usadas nos carregamentos lazy.
+
+-- ProductRepository.getMostRecentProducts / findByIsRemovedFalse (produtos vigentes ordenados por criacao).
+create index idx_product_active_dt_created on product (dt_created desc) where is_removed = false;
+-- CategoryRepository.getAllProductsInCategory (coluna "id" e a FK para categoria).
+create index idx_product_category on product (id) where is_removed = false;
+-- ProductRepository.findProductsInTag (PK de product_tag comeca por product_id).
+create index idx_product_tag_tag on product_tag (tag_id);
+-- CategoryRepository.findByIsRemovedFalse / UserRepository.findByIsRemovedFalse.
+create index idx_category_active on category (id) where is_removed = false;
+create index idx_user_entity_active on user_entity (user_id) where is_removed = false;
+
+-- Colecoes do produto.
+create index idx_product_img_product on product_img (product_id);
+create index idx_detail_product on detail (product_id);
+create index idx_section_product on section (product_id);
+create index idx_option_section on option (section_id);
+create index idx_product_material_material on product_material (material_id);
+create index idx_user_waiting_product_product on user_waiting_product (product_id);
+create index idx_user_waiting_product_user on user_waiting_product (user_id);
+
+-- Usuario, enderecos e pedidos.
+create index idx_client_address_user on client_address (user_id);
+create index idx_order_table_user on order_table (user_id);
+create index idx_order_cmp_table_user on order_cmp_table (user_id);
+create index idx_order_item_order on order_item (order_id);
+create index idx_order_item_cmp_order_cmp on order_item_cmp (order_cmp_id);
+create index idx_product_order_item_product on product_order_item (product_id);
+create index idx_product_order_item_order_item on product_order_item (order_item_id);
+create index idx_cmp_order_item_product_cmp on cmp_order_item (product_cmp_id);
+create index idx_cmp_order_item_order_item on cmp_order_item (order_item_cmp_id);
+
+-- Configurador (SectionCmpRepository.findByCategoryId, ElementCmpRepository/OptionCmpRepository por pai).
+create index idx_section_cmp_category on section_cmp (category_id);
+create index idx_element_cmp_section_cmp on element_cmp (section_cmp_section_cmp_id);
+create index idx_element_cmp_section_cmp_ref on element_cmp (section_cmp_id);
+create index idx_option_cmp_element_cmp on option_cmp (element_cmp_element_cmp_id);
+create index idx_option_cmp_element_cmp_ref on option_cmp (element_cmp_id);
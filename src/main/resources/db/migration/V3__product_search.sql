@@ -0,0 +1,11 @@
+-- Busca textual do catalogo (/products/search): vetor gerado a partir de nome (peso A) e descricao (peso B),
+-- mantido pelo proprio banco e indexado com GIN.
+alter table product add column search_vector tsvector generated always as (
+    setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+) stored;
+
+create index idx_product_search_vector on product using gin (search_vector);
+
+-- Filtro por faixa de preco sobre produtos vigentes.
+create index idx_product_active_value on product (value) where is_removed = false;
@@ -0,0 +1,7 @@
+-- Versao (ETag/Last-Modified) das categorias, incluindo o configurador (secoes, elementos e opcoes), e das
+-- configuracoes da loja. Linhas existentes partem do momento da migracao.
+alter table category add column dt_updated timestamp(6);
+alter table store_properties add column dt_updated timestamp(6);
+
+update category set dt_updated = now();
+update store_properties set dt_updated = now();
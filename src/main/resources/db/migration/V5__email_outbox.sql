@@ -0,0 +1,19 @@
+-- Outbox de e-mails: gravado na transacao da alteracao de estado e drenado pelo EmailOutboxDispatcher.
+create sequence email_outbox_seq start with 1 increment by 50;
+
+create table email_outbox (
+    id bigint not null,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    primary key (id)
+);
+
+-- Busca de pendentes prontos para envio (FOR UPDATE SKIP LOCKED por ordem de id).
+create index idx_email_outbox_pending on email_outbox (next_attempt_at, id) where status = 'PENDING';
@@ -0,0 +1,10 @@
+-- Lease da conciliacao de pagamentos: o no que reivindica o pedido (FOR UPDATE SKIP LOCKED) o reserva ate essa data,
+-- entao cada txid e consultado no PSP por um unico no por ciclo.
+alter table order_table add column payment_lease_until timestamp(6);
+alter table order_cmp_table add column payment_lease_until timestamp(6);
+
+-- Busca de pedidos com pagamento a conciliar (pendentes ou cancelados ainda dentro da validade da cobranca).
+create index idx_order_payment_pending on order_table (payment_lease_until, order_id)
+    where txid is not null and (status is null or status in ('ATIVA', 'CANCELADO'));
+create index idx_order_cmp_payment_pending on order_cmp_table (payment_lease_until, order_cmp_id)
+    where txid is not null and (status is null or status in ('ATIVA', 'CANCELADO'));
@@ -0,0 +1,6 @@
+-- Historico de pedidos do cliente (OrderRepository/OrderCmpRepository.findSummariesByUserId): pagina por usuario
+-- ordenada por data sem sort. Substitui os indices so por user_id.
+create index idx_order_table_user_date on order_table (user_id, date desc, order_id desc);
+create index idx_order_cmp_table_user_date on order_cmp_table (user_id, date desc, order_cmp_id desc);
+drop index idx_order_table_user;
+drop index idx_order_cmp_table_user;
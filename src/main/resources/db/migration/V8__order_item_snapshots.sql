@@ -0,0 +1,33 @@
+-- Snapshot do produto/cmp nos itens do pedido (gravado no checkout): historico e telas de pedidos leem so os itens.
+alter table order_item
+    add column product_id bigint,
+    add column product_name varchar(255),
+    add column unit_price float(53),
+    add column product_img varchar(1000),
+    add column selected_options jsonb;
+
+alter table order_item_cmp
+    add column product_cmp_id bigint,
+    add column cmp_description varchar(255),
+    add column unit_price float(53),
+    add column cmp_img varchar(1000),
+    add column selected_options jsonb;
+
+-- Itens ja gravados: dados atuais do produto/cmp e preco unitario derivado do subtotal cobrado (opcoes desconhecidas).
+update order_item oi
+set product_id = p.product_id,
+    product_name = p.name,
+    product_img = p.main_img,
+    unit_price = oi.subtotal / nullif(oi.selected_amount_of_products, 0)
+from product_order_item poi
+join product p on p.product_id = poi.product_id
+where poi.order_item_id = oi.order_item_id;
+
+update order_item_cmp oi
+set product_cmp_id = c.product_cmp_id,
+    cmp_description = c.description,
+    cmp_img = c.main_img,
+    unit_price = oi.subtotal / nullif(oi.selected_amount_of_cmps, 0)
+from cmp_order_item coi
+join product_cmp c on c.product_cmp_id = coi.product_cmp_id
+where coi.order_item_cmp_id = oi.order_item_cmp_id;
@@ -0,0 +1,17 @@
+-- Configuracoes de cmp deduplicadas: chave canonica (sha-256 das triplas secao/elemento/opcao ordenadas) e as opcoes
+-- escolhidas, gravadas uma vez por configuracao distinta. Cmps antigos ficam sem chave (nao sao reutilizados).
+alter table product_cmp add column config_hash varchar(64);
+create unique index ux_product_cmp_config_hash on product_cmp (config_hash);
+
+create table product_cmp_option (
+    product_cmp_id bigint not null,
+    section_cmp_id bigint,
+    element_cmp_id bigint,
+    option_cmp_id bigint
+);
+
+alter table product_cmp_option add constraint fk_product_cmp_option_product_cmp foreign key (product_cmp_id) references product_cmp;
+alter table product_cmp_option add constraint fk_product_cmp_option_option_cmp foreign key (option_cmp_id) references option_cmp;
+create index idx_product_cmp_option_product_cmp on product_cmp_option (product_cmp_id);
+-- Recalculo do preco em cache / retirada das configuracoes quando a opcao muda ou e removida.
+create index idx_product_cmp_option_option_cmp on product_cmp_option (option_cmp_id);
@@ -0,0 +1,105 @@
+package com.br.personniMoveis.config;
+
+import com.br.personniMoveis.dto.product.get.ProductGetDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Formatos de resposta: conversores Smile e CBOR registrados pelo @EnableWebMvc depois do JSON (JSON continua o
+ * padrão) e tamanho de uma página do catálogo em cada formato, com os ObjectMappers dos próprios conversores.
+ */
+class ResponseFormatsTest {
+
+    /**
+     * Página da vitrine (personni.feed-cache.most-recent-size).
+     */
+    private static final int PAGE_SIZE = 24;
+    /**
+     * server.compression.min-response-size.
+     */
+    private static final int MIN_COMPRESSED_SIZE = 2 * 1024;
+
+    private final List<HttpMessageConverter<?>> converters = new ConvertersSupport().converters();
+
+    @Test
+    void binaryConvertersAreRegisteredAfterJson() {
+        int json = indexOf(MappingJackson2HttpMessageConverter.class);
+        int smile = indexOf(MappingJackson2SmileHttpMessageConverter.class);
+        int cbor = indexOf(MappingJackson2CborHttpMessageConverter.class);
+
+        assertTrue(json >= 0 && smile > json && cbor > json);
+    }
+
+    @Test
+    void catalogPageIsSmallerInBinaryFormatsAndGzip() throws IOException {
+        List<ProductGetDto> page = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(ResponseFormatsTest::product).toList();
+        ObjectMapper jsonMapper = mapper(MappingJackson2HttpMessageConverter.class);
+        ObjectMapper smileMapper = mapper(MappingJackson2SmileHttpMessageConverter.class);
+        ObjectMapper cborMapper = mapper(MappingJackson2CborHttpMessageConverter.class);
+
+        byte[] json = jsonMapper.writeValueAsBytes(page);
+        byte[] smile = smileMapper.writeValueAsBytes(page);
+        byte[] cbor = cborMapper.writeValueAsBytes(page);
+
+        // Página é comprimida pelo Tomcat e o gzip reduz o JSON a menos da metade.
+        assertTrue(json.length >= MIN_COMPRESSED_SIZE);
+        assertTrue(gzip(json).length < json.length / 2);
+        assertTrue(smile.length < json.length);
+        assertTrue(cbor.length < json.length);
+        // Mesmo conteúdo nos três formatos.
+        assertEquals(jsonMapper.readTree(json), smileMapper.readTree(smile));
+        assertEquals(jsonMapper.readTree(json), cborMapper.readTree(cbor));
+    }
+
+    private int indexOf(Class<?> converterType) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converterType.isInstance(converters.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ObjectMapper mapper(Class<? extends AbstractJackson2HttpMessageConverter> converterType) {
+        return ((AbstractJackson2HttpMessageConverter) converters.get(indexOf(converterType))).getObjectMapper();
+    }
+
+    private static ProductGetDto product(long id) {
+        return new ProductGetDto(id, "Mesa de jantar modelo " + id, 1299.90 + id, 10 + id, true,
+                "https://drive.google.com/uc?export=view&id=1aBcDeFgHiJkLmNoPqRsTuVwXyZ" + id,
+                "Mesa de jantar em madeira maciça com acabamento em verniz, tampo de 160x90cm e quatro pés torneados.");
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Conversores padrão do @EnableWebMvc (a aplicação não customiza a lista).
+     */
+    private static final class ConvertersSupport extends WebMvcConfigurationSupport {
+
+        private List<HttpMessageConverter<?>> converters() {
+            return getMessageConverters();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.br.personniMoveis.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Perfil virtual-threads: requisições do Tomcat, métodos @Async e tarefas @Scheduled executam em virtual threads; sem
+ * o perfil nada é alterado.
+ */
+class VirtualThreadsConfigTest {
+
+    @Test
+    void requestsAsyncAndScheduledTasksRunOnVirtualThreads() throws Exception {
+        try (AnnotationConfigApplicationContext context = context("virtual-threads")) {
+            assertEquals("true", handleRequest(context.getBean(TomcatProtocolHandlerCustomizer.class)));
+            assertTrue(context.getBean("taskExecutor", AsyncTaskExecutor.class)
+                    .submit(() -> Thread.currentThread().isVirtual()).get());
+
+            ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+            context.getBean(TaskSchedulerCustomizer.class).customize(scheduler);
+            scheduler.initialize();
+            try {
+                assertTrue(scheduler.submit(() -> Thread.currentThread().isVirtual()).get());
+            } finally {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void withoutProfileNothingIsRegistered() {
+        try (AnnotationConfigApplicationContext context = context("development")) {
+            assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+            assertTrue(context.getBeansOfType(AsyncTaskExecutor.class).isEmpty());
+        }
+    }
+
+    private static AnnotationConfigApplicationContext context(String profile) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles(profile);
+        context.register(VirtualThreadsConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Sobe um Tomcat em porta livre com o customizador do perfil e retorna se a requisição rodou em virtual thread.
+     */
+    private static String handleRequest(TomcatProtocolHandlerCustomizer<?> customizer)
+            throws IOException, InterruptedException {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addProtocolHandlerCustomizers(customizer);
+        WebServer server = factory.getWebServer(servletContext -> servletContext
+                .addServlet("thread", new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                        response.getWriter().print(Thread.currentThread().isVirtual());
+                    }
+                })
+                .addMapping("/thread"));
+        server.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/thread"))
+                    .build();
+            return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.br.personniMoveis.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga de checkout com threads de plataforma (perfil production) x virtual threads (production,virtual-threads).
+ * O Spring Boot 3.1 não tem spring.threads.virtual.enabled: o modo é o perfil virtual-threads (VirtualThreadsConfig).
+ * <p>
+ * Cada modo sobe um Tomcat com o executor do perfil e os limites dos seus arquivos de configuração (pool do Hikari e
+ * bulkhead do PSP). O checkout segue o caminho de OrderService.makeOrder: transação do pedido, cobrança no PSP (fora
+ * da transação, pelo bulkhead, com latência simulada) e transação que vincula o txid. Ao mesmo tempo, clientes leem o
+ * catálogo; com threads de plataforma as leituras esperam atrás dos checkouts bloqueados no PSP. Resultados (vazão,
+ * p50/p99 e 503s) vão para a saída.
+ * <p>
+ * Fora do {@code mvn test} padrão (tag benchmark): rodar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadsLoadBenchmarkTest {
+
+    private static final long ORDER_TX_MS = 10;
+    private static final long PSP_LATENCY_MS = 300;
+    private static final long LINK_TX_MS = 2;
+    private static final long CATALOG_TX_MS = 2;
+
+    private static final int CHECKOUT_CLIENTS = 400;
+    private static final int CHECKOUTS_PER_CLIENT = 3;
+    private static final int CATALOG_CLIENTS = 20;
+
+    @Test
+    void checkoutUnderLoadWithPlatformAndVirtualThreads() throws Exception {
+        Result platform = run(limits("production"), null);
+        Result virtual = run(limits("production", "virtual-threads"),
+                new VirtualThreadsConfig().virtualThreadsProtocolHandlerCustomizer());
+
+        print("plataforma", platform);
+        print("virtual", virtual);
+        assertTrue(platform.allAnswered() && virtual.allAnswered());
+    }
+
+    /**
+     * Limites do pool de conexões e do bulkhead do PSP com os perfis informados (application.properties + perfis).
+     */
+    private static Limits limits(String... profiles) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        for (String profile : profiles) {
+            properties.putAll(PropertiesLoaderUtils.loadProperties(
+                    new ClassPathResource("application-" + profile + ".properties")));
+        }
+        return new Limits(
+                Integer.parseInt(properties.getProperty("spring.datasource.hikari.maximum-pool-size")),
+                DurationStyle.detectAndParse(properties.getProperty("spring.datasource.hikari.connection-timeout")),
+                Integer.parseInt(properties.getProperty("resilience4j.bulkhead.instances.gerencianet.max-concurrent-calls")),
+                DurationStyle.detectAndParse(properties.getProperty("resilience4j.bulkhead.instances.gerencianet.max-wait-duration")));
+    }
+
+    private static Result run(Limits limits, TomcatProtocolHandlerCustomizer<?> customizer) throws Exception {
+        Semaphore connections = new Semaphore(limits.poolSize());
+        Bulkhead psp = Bulkhead.of("gerencianet", BulkheadConfig.custom()
+                .maxConcurrentCalls(limits.pspCalls())
+                .maxWaitDuration(limits.pspWait())
+                .build());
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (customizer != null) {
+            factory.addProtocolHandlerCustomizers(customizer);
+        }
+        WebServer server = factory.getWebServer(servletContext -> {
+            servletContext.addServlet("checkout", new HttpServlet() {
+                @Override
+                protected void doPost(HttpServletRequest request, HttpServletResponse response) {
+                    response.setStatus(checkout(limits, connections, psp));
+                }
+            }).addMapping("/orders/create-order");
+            servletContext.addServlet("catalog", new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                    response.setStatus(transaction(limits, connections, CATALOG_TX_MS) ? 200 : 503);
+                }
+            }).addMapping("/products/1");
+        });
+        server.start();
+        try {
+            return load("http://localhost:" + server.getPort());
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Checkout: pedido gravado, cobrança no PSP fora da transação e vínculo do txid. 503 sem conexão ou sem vaga no PSP.
+     */
+    private static int checkout(Limits limits, Semaphore connections, Bulkhead psp) {
+        if (!transaction(limits, connections, ORDER_TX_MS)) {
+            return 503;
+        }
+        try {
+            psp.executeCallable(() -> {
+                Thread.sleep(PSP_LATENCY_MS);
+                return null;
+            });
+        } catch (BulkheadFullException e) {
+            return 503;
+        } catch (Exception e) {
+            return 500;
+        }
+        return transaction(limits, connections, LINK_TX_MS) ? 200 : 503;
+    }
+
+    /**
+     * Ocupa uma conexão do pool pelo tempo da transação (aguarda conexão livre até connection-timeout).
+     */
+    private static boolean transaction(Limits limits, Semaphore connections, long durationMs) {
+        try {
+            if (!connections.tryAcquire(limits.connectionTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            try {
+                Thread.sleep(durationMs);
+            } finally {
+                connections.release();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Result load(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest checkout = HttpRequest.newBuilder(URI.create(baseUrl + "/orders/create-order"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpRequest catalog = HttpRequest.newBuilder(URI.create(baseUrl + "/products/1")).GET().build();
+        AtomicBoolean checkoutRunning = new AtomicBoolean(true);
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Sample>>> checkouts = new ArrayList<>();
+            for (int i = 0; i < CHECKOUT_CLIENTS; i++) {
+                checkouts.add(clients.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    for (int j = 0; j < CHECKOUTS_PER_CLIENT; j++) {
+                        samples.add(send(client, checkout));
+                    }
+                    return samples;
+                }));
+            }
+            List<Future<List<Sample>>> reads = new ArrayList<>();
+            for (int i = 0; i < CATALOG_CLIENTS; i++) {
+                reads.add(clients.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    while (checkoutRunning.get()) {
+                        samples.add(send(client, catalog));
+                    }
+                    return samples;
+                }));
+            }
+            List<Sample> checkoutSamples = collect(checkouts);
+            checkoutRunning.set(false);
+            List<Sample> catalogSamples = collect(reads);
+            return new Result(checkoutSamples, catalogSamples, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static Sample send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return new Sample(status, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static List<Sample> collect(List<Future<List<Sample>>> futures) throws Exception {
+        List<Sample> samples = new ArrayList<>();
+        for (Future<List<Sample>> future : futures) {
+            samples.addAll(future.get());
+        }
+        return samples;
+    }
+
+    private static void print(String mode, Result result) {
+        System.out.printf("%-10s checkout: %,d ok, %,d 503, %.0f/s, p50 %d ms, p99 %d ms | "
+                        + "catálogo: %,d ok, %.0f/s, p50 %d ms, p99 %d ms (%d s)%n",
+                mode, result.ok(result.checkouts()), result.unavailable(result.checkouts()),
+                result.rate(result.checkouts()), percentile(result.checkouts(), 50), percentile(result.checkouts(), 99),
+                result.ok(result.reads()), result.rate(result.reads()), percentile(result.reads(), 50),
+                percentile(result.reads(), 99), result.elapsed().toSeconds());
+    }
+
+    private static long percentile(List<Sample> samples, int percentile) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        long[] latencies = samples.stream().mapToLong(Sample::latencyMs).sorted().toArray();
+        return latencies[Math.min(latencies.length - 1, latencies.length * percentile / 100)];
+    }
+
+    private record Limits(int poolSize, Duration connectionTimeout, int pspCalls, Duration pspWait) {
+    }
+
+    private record Sample(int status, long latencyMs) {
+    }
+
+    private record Result(List<Sample> checkouts, List<Sample> reads, Duration elapsed) {
+
+        long ok(List<Sample> samples) {
+            return samples.stream().filter(s -> s.status() == 200).count();
+        }
+
+        long unavailable(List<Sample> samples) {
+            return samples.stream().filter(s -> s.status() == 503).count();
+        }
+
+        double rate(List<Sample> samples) {
+            return samples.size() * 1000.0 / Math.max(elapsed.toMillis(), 1);
+        }
+
+        /**
+         * Toda requisição foi respondida com sucesso ou com 503 (limite de conexões/PSP), nunca com erro.
+         */
+        boolean allAnswered() {
+            return checkouts.size() == CHECKOUT_CLIENTS * CHECKOUTS_PER_CLIENT
+                    && checkouts.stream().allMatch(s -> s.status() == 200 || s.status() == 503)
+                    && reads.stream().allMatch(s -> s.status() == 200 || s.status() == 503);
+        }
+    }
+}
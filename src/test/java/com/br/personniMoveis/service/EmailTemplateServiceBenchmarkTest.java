@@ -0,0 +1,100 @@
+package com.br.personniMoveis.service;
+
+import com.samskivert.mustache.Escapers;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vazão da renderização dos templates de e-mail (renders/s na saída), do pior para o melhor caso: template compilado a
+ * cada e-mail, compilado uma vez com buffer novo por e-mail, {@link EmailTemplateService#render} (compilado e buffers
+ * reaproveitados) e parte comum renderizada uma vez ({@link EmailTemplateService#prepare}) com substituição só do nome.
+ * <p>
+ * Fora do {@code mvn test} padrão (tag benchmark): rodar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EmailTemplateServiceBenchmarkTest {
+
+    private static final String TEMPLATE = "product-arrived";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final EmailTemplateService templates = new EmailTemplateService(new SimpleMeterRegistry());
+
+    private final Map<String, String> shared = Map.of(
+            "productName", "Mesa <Jantar> & Cia",
+            "buttonLabel", "Ver na loja",
+            "link", "https://loja.example/produto?id=1&ref=espera");
+
+    @Test
+    void renderThroughput() throws IOException {
+        String source = read("templates/email/" + TEMPLATE + ".mustache");
+        String button = read("templates/email/partials/button.mustache");
+        Mustache.Compiler compiler = Mustache.compiler()
+                .withEscaper(Escapers.HTML)
+                .nullValue("")
+                .withLoader(partial -> new StringReader(button));
+        Template compiled = compiler.compile(source);
+        EmailTemplateService.PreparedTemplate prepared = templates.prepare(TEMPLATE, shared, "clientName");
+
+        // Mesmo HTML nas quatro formas.
+        Map<String, String> context = with(shared, "clientName", "Cliente 1");
+        String expected = templates.render(TEMPLATE, context);
+        assertEquals(expected, compiler.compile(source).execute(context));
+        assertEquals(expected, prepared.render(Map.of("clientName", "Cliente 1")));
+
+        long compileEach = measure(i -> execute(compiler.compile(source), with(shared, "clientName", "Cliente " + i)));
+        long newBuffer = measure(i -> execute(compiled, with(shared, "clientName", "Cliente " + i)));
+        long service = measure(i -> templates.render(TEMPLATE, with(shared, "clientName", "Cliente " + i)).length());
+        long bulk = measure(i -> prepared.render(Map.of("clientName", "Cliente " + i)).length());
+
+        System.out.printf("%s (renders/s): compilado por e-mail %,d | compilado + buffer novo %,d | "
+                + "compilado + buffer do pool %,d | parte comum + nome %,d%n", TEMPLATE, compileEach, newBuffer, service, bulk);
+        assertTrue(service > compileEach);
+        assertTrue(bulk > compileEach);
+    }
+
+    private static long execute(Template template, Map<String, String> context) {
+        StringWriter buffer = new StringWriter();
+        template.execute(context, buffer);
+        return buffer.toString().length();
+    }
+
+    private static long measure(IntToLongFunction render) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += render.applyAsLong(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += render.applyAsLong(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return ITERATIONS * 1_000_000_000L / Math.max(elapsed, 1);
+    }
+
+    private static String read(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> with(Map<String, String> shared, String key, String value) {
+        Map<String, String> context = new HashMap<>(shared);
+        context.put(key, value);
+        return context;
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.personniMoveis.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renderização dos templates de e-mail: parte comum renderizada uma vez ({@link EmailTemplateService#prepare}) com
+ * substituição só do nome deve gerar o mesmo HTML da renderização completa por destinatário.
+ */
+class EmailTemplateServiceTest {
+
+    private final EmailTemplateService templates = new EmailTemplateService(new SimpleMeterRegistry());
+
+    private final Map<String, String> shared = Map.of(
+            "productName", "Mesa <Jantar> & Cia",
+            "buttonLabel", "Ver na loja",
+            "link", "https://loja.example/produto?id=1&ref=espera");
+
+    @Test
+    void preparedTemplateMatchesFullRenderAndEscapes() {
+        String full = templates.render("product-arrived", with(shared, "clientName", "Ana \"Dev\""));
+        String prepared = templates.prepare("product-arrived", shared, "clientName")
+                .render(Map.of("clientName", "Ana \"Dev\""));
+
+        assertEquals(full, prepared);
+        assertTrue(full.contains("Mesa &lt;Jantar&gt; &amp; Cia"));
+        assertTrue(full.contains("Ana &quot;Dev&quot;"));
+    }
+
+    private static Map<String, String> with(Map<String, String> shared, String key, String value) {
+        Map<String, String> context = new HashMap<>(shared);
+        context.put(key, value);
+        return context;
+    }
+}
@@ -0,0 +1,178 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.config.CacheConfig;
+import com.br.personniMoveis.dto.product.ProductImportResultDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Importação JSON Lines com JDBC e transações simulados: arquivo válido em vários lotes, linhas inválidas rejeitadas
+ * com seu número e lote recusado pelo BD reportado sem interromper a importação.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO product (";
+    private static final String INSERT_TAG = "INSERT INTO tag (tag_id, tag_name) VALUES (?, ?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache tagsCache;
+
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(jdbcTemplate, Jackson2ObjectMapperBuilder.json().build(),
+                transactionManager, eventPublisher, cacheManager, 2);
+        when(jdbcTemplate.queryForList("SELECT id FROM category", Long.class)).thenReturn(List.of(1L));
+        // Sequências e transações não são usadas quando nenhuma linha é válida.
+        AtomicLong sequence = new AtomicLong(1);
+        lenient().when(jdbcTemplate.queryForList(startsWith("SELECT nextval"), eq(Long.class), any(), any())).thenAnswer(invocation -> {
+            int calls = invocation.getArgument(3);
+            List<Long> starts = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                starts.add(sequence.getAndAdd(50));
+            }
+            return starts;
+        });
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(cacheManager.getCache(CacheConfig.TAGS)).thenReturn(tagsCache);
+    }
+
+    @Test
+    void validFileIsImportedInBatches() throws IOException {
+        ProductImportResultDto result = importService.importJsonLines(lines(
+                product("Mesa", "Sala"),
+                product("Cadeira", "sala"),
+                product("Sofá", "Sala")));
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals(0, result.getFailed());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith(INSERT_PRODUCT), anyList());
+        // Tag criada no primeiro lote é reutilizada (nome normalizado) nos seguintes.
+        assertEquals(1, insertedTagNames().size());
+        verify(transactionManager, times(2)).commit(any());
+        // Cache de tags limpo só pelo lote que criou a tag.
+        verify(tagsCache, times(1)).clear();
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.products());
+    }
+
+    @Test
+    void malformedLinesAreRejectedWithTheirLineNumbers() throws IOException {
+        ProductImportResultDto result = importService.importJsonLines(lines(
+                product("Mesa", "Sala"),
+                "{nao e json",
+                "{\"name\":\"Sem tag\",\"value\":10.0,\"quantity\":1,\"categoryId\":1,\"tags\":[{}]}",
+                "",
+                "{\"name\":\"Sem categoria\",\"value\":10.0,\"quantity\":1,\"categoryId\":99}",
+                "{\"name\":\"Opcao\",\"value\":10.0,\"quantity\":1,\"categoryId\":1," +
+                        "\"sections\":[{\"name\":\"Tampo\",\"options\":[{\"price\":5.0}]}]}",
+                "{\"name\":\"" + "x".repeat(256) + "\",\"value\":10.0,\"quantity\":1,\"categoryId\":1}"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getRejected());
+        assertEquals(0, result.getFailed());
+        List<String> errors = result.getErrors();
+        assertTrue(errors.get(0).startsWith("Linha 2:"));
+        assertTrue(errors.get(1).startsWith("Linha 3: Nome da tag"));
+        assertTrue(errors.get(2).startsWith("Linha 5: Categoria inexistente"));
+        assertTrue(errors.get(3).startsWith("Linha 6: Nome da opção"));
+        assertTrue(errors.get(4).startsWith("Linha 7: Nome do produto excede"));
+    }
+
+    @Test
+    void failedBatchIsReportedAndImportContinues() throws IOException {
+        // Demais tabelas do lote usam o mesmo método sem stub.
+        lenient().when(jdbcTemplate.batchUpdate(startsWith(INSERT_PRODUCT), anyList()))
+                .thenReturn(new int[0])
+                .thenThrow(new DataIntegrityViolationException("violação de restrição"))
+                .thenReturn(new int[0]);
+
+        ProductImportResultDto result = importService.importJsonLines(lines(
+                product("Mesa", "Sala"),
+                product("Cadeira", "Sala"),
+                product("Sofá", "Nova"),
+                product("Poltrona", "Sala"),
+                product("Rack", "Nova")));
+
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of("Linhas 3-4: 2 produtos não gravados (violação de restrição)"), result.getBatchErrors());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        // Tag do lote desfeito não é considerada existente: é criada de novo no lote seguinte.
+        assertEquals(List.of("Sala", "Nova", "Nova"), insertedTagNames());
+        // Lote desfeito não limpa o cache de tags.
+        verify(tagsCache, times(2)).clear();
+    }
+
+    @Test
+    void fileWithoutValidLinesWritesNothing() throws IOException {
+        ProductImportResultDto result = importService.importJsonLines(lines("{nao e json", "[]"));
+
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getRejected());
+        verify(jdbcTemplate, never()).batchUpdate(startsWith(INSERT_PRODUCT), anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> insertedTagNames() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(INSERT_TAG), rows.capture());
+        return rows.getAllValues().stream().flatMap(List::stream).map(row -> (String) row[1]).toList();
+    }
+
+    private static String product(String name, String tagName) {
+        return "{\"name\":\"" + name + "\",\"value\":100.0,\"quantity\":2,\"categoryId\":1," +
+                "\"details\":[{\"detailField\":\"Cor\",\"fieldContent\":\"Azul\"}]," +
+                "\"sections\":[{\"name\":\"Tampo\",\"options\":[{\"name\":\"Vidro\",\"price\":10.0}]}]," +
+                "\"tags\":[{\"tagName\":\"" + tagName + "\"}]}";
+    }
+
+    private static ByteArrayInputStream lines(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,181 @@
+package com.br.personniMoveis.service.product;
+
+import com.br.personniMoveis.dto.product.ProductTagsBulkDto;
+import com.br.personniMoveis.event.CatalogChangedEvent;
+import com.br.personniMoveis.exception.AlreadyExistsException;
+import com.br.personniMoveis.exception.BadRequestException;
+import com.br.personniMoveis.exception.ResourceNotFoundException;
+import com.br.personniMoveis.repository.ProductImgRepository;
+import com.br.personniMoveis.repository.ProductRepository;
+import com.br.personniMoveis.service.CategoryService;
+import com.br.personniMoveis.utils.AuthUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Associação de tags por product_tag: validação dos ids e limites, existência de produtos e tags e efeitos colaterais
+ * (versão dos produtos e eventos) somente quando associações mudam. As contagens do INSERT/DELETE nativos vêm do mock.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTagsTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private TagService tagService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CategoryService categoryService;
+    @Mock
+    private DetailService detailService;
+    @Mock
+    private SectionService sectionService;
+    @Mock
+    private OptionService optionService;
+    @Mock
+    private AuthUtils authUtils;
+    @Mock
+    private WaitingListService waitingListService;
+    @Mock
+    private ProductImgRepository productImgRepository;
+    @Mock
+    private ProductFeedCache productFeedCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(productRepository, categoryService, detailService, sectionService,
+                optionService, tagService, authUtils, waitingListService, productImgRepository, productFeedCache,
+                eventPublisher, transactionManager);
+    }
+
+    @Test
+    void assignIgnoresDuplicateIds() {
+        when(productRepository.countByProductIdIn(Set.of(1L, 2L))).thenReturn(2L);
+        when(productRepository.addTags(Set.of(1L, 2L), Set.of(5L))).thenReturn(2);
+
+        int created = productService.assignTagsToProducts(new ProductTagsBulkDto(List.of(1L, 2L, 1L), List.of(5L, 5L)))
+                .getChanged();
+
+        assertEquals(2, created);
+        verify(tagService).checkTagsExistOrThrowNotFoundException(Set.of(5L));
+        verify(productRepository).touchProducts(eq(Set.of(1L, 2L)), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.tag(5L));
+    }
+
+    @Test
+    void assignExistingAssociationsIsNoOp() {
+        when(productRepository.countByProductIdIn(Set.of(1L))).thenReturn(1L);
+        // ON CONFLICT DO NOTHING: nenhuma linha inserida.
+        when(productRepository.addTags(Set.of(1L), Set.of(5L, 6L))).thenReturn(0);
+
+        int created = productService.assignTagsToProducts(new ProductTagsBulkDto(List.of(1L), List.of(5L, 6L)))
+                .getChanged();
+
+        assertEquals(0, created);
+        verify(productRepository, never()).touchProducts(anyCollection(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void assignMissingProductThrowsNotFound() {
+        when(productRepository.countByProductIdIn(Set.of(1L, 2L))).thenReturn(1L);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> productService.assignTagsToProducts(new ProductTagsBulkDto(List.of(1L, 2L), List.of(5L))));
+        verify(productRepository, never()).addTags(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void assignMissingTagThrowsNotFound() {
+        when(productRepository.countByProductIdIn(Set.of(1L))).thenReturn(1L);
+        doThrow(new ResourceNotFoundException("Tag não encontrada."))
+                .when(tagService).checkTagsExistOrThrowNotFoundException(Set.of(5L, 6L));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> productService.assignTagsToProducts(new ProductTagsBulkDto(List.of(1L), List.of(5L, 6L))));
+        verify(productRepository, never()).addTags(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void assignAbovePairLimitThrowsBadRequest() {
+        ProductTagsBulkDto bulkDto = new ProductTagsBulkDto(ids(ProductService.MAX_BULK_TAG_IDS), ids(21));
+
+        assertThrows(BadRequestException.class, () -> productService.assignTagsToProducts(bulkDto));
+        verifyNoInteractions(productRepository, tagService, eventPublisher);
+    }
+
+    @Test
+    void assignAboveIdLimitThrowsBadRequest() {
+        ProductTagsBulkDto bulkDto = new ProductTagsBulkDto(ids(ProductService.MAX_BULK_TAG_IDS + 1), ids(1));
+
+        assertThrows(BadRequestException.class, () -> productService.assignTagsToProducts(bulkDto));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void removeAbovePairLimitThrowsBadRequest() {
+        ProductTagsBulkDto bulkDto = new ProductTagsBulkDto(ids(ProductService.MAX_BULK_TAG_IDS), ids(21));
+
+        assertThrows(BadRequestException.class, () -> productService.removeTagsFromProducts(bulkDto));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void removeWithoutAssociationsIsNoOp() {
+        when(productRepository.removeTags(Set.of(1L, 2L), Set.of(5L))).thenReturn(0);
+
+        int removed = productService.removeTagsFromProducts(new ProductTagsBulkDto(List.of(2L, 1L, 2L), List.of(5L)))
+                .getChanged();
+
+        assertEquals(0, removed);
+        verify(productRepository, never()).touchProducts(anyCollection(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void assignTagAlreadyInProductThrowsAlreadyExists() {
+        when(productRepository.countByProductIdIn(List.of(1L))).thenReturn(1L);
+        when(productRepository.hasTag(1L, 5L)).thenReturn(true);
+
+        assertThrows(AlreadyExistsException.class, () -> productService.assignTagToProduct(1L, 5L));
+        verify(productRepository, never()).addTags(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void removeTagNotInProductThrowsNotFound() {
+        when(productRepository.removeTags(List.of(1L), List.of(5L))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.removeTagInProduct(1L, 5L));
+        verify(productRepository, never()).touchProducts(anyCollection(), any());
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}